@@ -0,0 +1,165 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class GameModel {
+
+    public enum Mode { LOCAL, ONLINE, AI }
+    // 난이도 Enum 추가
+    public enum Difficulty { EASY, MEDIUM, HARD }
+
+    // 착수 기록 (놓은 칸 + 뒤집힌 마스크). 무르기/다시하기도 여기서 처리합니다.
+    private final MoveStack history = new MoveStack();
+    // 현재 국면 (다른 쓰레드에 넘기기 위한 불변 사본)
+    private Position position;
+    private final int SIZE = 8;
+    private boolean isGameOver;
+    private Mode gameMode;
+    private int aiColor;
+    private Difficulty aiDifficulty; // 난이도 저장 변수
+
+    public GameModel() {
+        gameMode = Mode.LOCAL;
+        aiDifficulty = Difficulty.MEDIUM; // 기본값
+        resetTo(Position.initial());
+    }
+
+    /**
+     * 주어진 국면에서 시작하는 작업용 모델을 만듭니다.
+     */
+    public GameModel(Position start) {
+        gameMode = Mode.LOCAL;
+        aiDifficulty = Difficulty.MEDIUM;
+        resetTo(start);
+    }
+
+    public void initializeBoard() {
+        resetTo(Position.initial());
+
+        if (gameMode == Mode.AI) {
+            Random random = new Random();
+            aiColor = random.nextBoolean() ? 1 : 2;
+        } else {
+            aiColor = 0;
+        }
+    }
+
+    private void resetTo(Position start) {
+        history.reset(start);
+        position = start;
+        isGameOver = false;
+    }
+
+    /**
+     * 현재 차례인 쪽이 (x, y)에 두고 돌을 뒤집은 뒤 차례를 넘깁니다.
+     * 둘 수 없는 위치면 아무것도 바꾸지 않고 false를 반환합니다.
+     */
+    public boolean playMove(int x, int y) {
+        if (x < 0 || x >= SIZE || y < 0 || y >= SIZE || history.make(y * SIZE + x) == 0) {
+            return false;
+        }
+        position = history.toPosition();
+        return true;
+    }
+
+    public List<int[]> getPiecesToFlip(int x, int y, int player) {
+        List<int[]> piecesToFlip = new ArrayList<>();
+        if (x < 0 || x >= SIZE || y < 0 || y >= SIZE || position.getPiece(x, y) != 0) {
+            return piecesToFlip;
+        }
+
+        long flips = Position.flips(position.discs(player), position.discs(Position.opponent(player)), x, y);
+        while (flips != 0) {
+            int sq = Long.numberOfTrailingZeros(flips);
+            piecesToFlip.add(new int[]{sq >>> 3, sq & 7});
+            flips &= flips - 1;
+        }
+        return piecesToFlip;
+    }
+
+    public List<int[]> getValidMoves() {
+        List<int[]> validMoves = new ArrayList<>();
+        long moves = position.legalMoves();
+        while (moves != 0) {
+            int sq = Long.numberOfTrailingZeros(moves);
+            validMoves.add(new int[]{sq & 7, sq >>> 3});
+            moves &= moves - 1;
+        }
+        return validMoves;
+    }
+
+    /**
+     * 둘 곳이 없을 때 차례만 넘깁니다 (패스).
+     */
+    public void switchTurn() {
+        history.makePass();
+        position = history.toPosition();
+    }
+
+    /**
+     * 마지막 착수 하나를 무릅니다. 그 뒤에 자동으로 기록된 패스도 함께 되돌립니다.
+     * 보드를 복사하지 않고 기록된 뒤집기 마스크로 O(1)에 복원합니다.
+     */
+    public boolean undo() {
+        if (!canUndo()) return false;
+        while (history.squareAt(history.size() - 1) == MoveStack.PASS) history.unmake();
+        history.unmake();
+        position = history.toPosition();
+        isGameOver = false;
+        return true;
+    }
+
+    /**
+     * 무른 착수 하나를 다시 둡니다. 이어지는 패스도 함께 다시 적용합니다.
+     */
+    public boolean redo() {
+        if (!history.canRedo()) return false;
+        history.redo();
+        while (history.canRedo() && history.squareAt(history.size()) == MoveStack.PASS) history.redo();
+        position = history.toPosition();
+        return true;
+    }
+
+    public boolean canUndo() {
+        // 패스만 남아 있으면 무를 착수가 없습니다.
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if (history.squareAt(i) != MoveStack.PASS) return true;
+        }
+        return false;
+    }
+
+    public boolean canRedo() { return history.canRedo(); }
+
+    public int getScore(int player) {
+        return position.count(player);
+    }
+
+    public String getCurrentPlayerName() {
+        int currentTurn = getCurrentTurn();
+        if (gameMode == Mode.AI && currentTurn == aiColor) {
+            return "AI (" + (currentTurn == 1 ? "Black" : "White") + ")";
+        }
+        return (currentTurn == 1) ? "Black" : "White";
+    }
+
+    // --- Getter & Setter ---
+    /** 현재 국면. 불변 객체이므로 다른 쓰레드에 그대로 넘겨도 됩니다. */
+    public Position getPosition() { return position; }
+    /** 현재 보드의 사본 (0=빈칸, 1=흑, 2=백) */
+    public int[][] getBoard() { return position.toBoardArray(); }
+    public int getCurrentTurn() { return position.getSideToMove(); }
+    public boolean isGameOver() { return isGameOver; }
+    public void setGameOver(boolean gameOver) { isGameOver = gameOver; }
+
+    public void setGameMode(Mode mode) { this.gameMode = mode; }
+    public boolean isAIMode() { return gameMode == Mode.AI; }
+    public boolean isOnlineMode() { return gameMode == Mode.ONLINE; }
+
+    public int getAIColor() { return aiColor; }
+
+    // 난이도 관련 메소드 추가
+    public void setAIDifficulty(Difficulty difficulty) { this.aiDifficulty = difficulty; }
+    public Difficulty getAIDifficulty() { return this.aiDifficulty; }
+}
\ No newline at end of file
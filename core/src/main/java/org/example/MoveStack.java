@@ -0,0 +1,148 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * 가변 비트보드와 착수 기록.
+ * 수마다 놓은 칸과 뒤집힌 돌의 마스크만 기본형 배열에 쌓아 두므로, 보드를 복사하지 않고
+ * O(1)로 수를 두고(make) 되돌릴(unmake) 수 있습니다. 되돌린 수는 다음 make 전까지 redo 할 수 있습니다.
+ * GameModel의 무르기와 SearchEngine의 탐색이 함께 사용합니다.
+ */
+public final class MoveStack {
+
+    /** 패스를 나타내는 칸 번호 */
+    public static final int PASS = -1;
+
+    private long black;
+    private long white;
+    private int sideToMove;
+    private int startMoveCount;
+
+    private int[] squares;
+    private long[] flips;
+    private int size;
+    // size 위로 redo 가능한 기록이 남아 있는 끝
+    private int redoLimit;
+
+    public MoveStack() {
+        this(Position.initial());
+    }
+
+    public MoveStack(Position start) {
+        squares = new int[128];
+        flips = new long[128];
+        reset(start);
+    }
+
+    public void reset(Position start) {
+        black = start.getBlack();
+        white = start.getWhite();
+        sideToMove = start.getSideToMove();
+        startMoveCount = start.getMoveCount();
+        size = 0;
+        redoLimit = 0;
+    }
+
+    // --- 조회 ---
+
+    public int getSideToMove() { return sideToMove; }
+    public long getPlayer() { return sideToMove == Position.BLACK ? black : white; }
+    public long getOpponent() { return sideToMove == Position.BLACK ? white : black; }
+    public int emptyCount() { return 64 - Long.bitCount(black | white); }
+    public long legalMoves() { return Position.legalMoves(getPlayer(), getOpponent()); }
+    public long hash() { return Position.hashOf(black, white, sideToMove); }
+
+    /** 쌓여 있는 수 (패스 포함) */
+    public int size() { return size; }
+    public boolean canUndo() { return size > 0; }
+    public boolean canRedo() { return redoLimit > size; }
+    /** index 번째 수의 칸 번호 (redo 가능한 기록 포함). 패스면 PASS */
+    public int squareAt(int index) {
+        if (index < 0 || index >= redoLimit) throw new IndexOutOfBoundsException(index);
+        return squares[index];
+    }
+
+    public Position toPosition() {
+        return Position.of(black, white, sideToMove, startMoveCount + size);
+    }
+
+    // --- make / unmake ---
+
+    /**
+     * square에 두고 차례를 넘깁니다. 뒤집힌 돌의 마스크를 반환하며,
+     * 둘 수 없는 칸이면 아무것도 바꾸지 않고 0을 반환합니다.
+     */
+    public long make(int square) {
+        if (((black | white) >>> square & 1) != 0) return 0;
+        long flipped = Position.flips(getPlayer(), getOpponent(), square & 7, square >>> 3);
+        if (flipped == 0) return 0;
+        apply(square, flipped);
+        push(square, flipped);
+        redoLimit = size;
+        return flipped;
+    }
+
+    /** 둘 곳이 없을 때 차례만 넘깁니다. */
+    public void makePass() {
+        sideToMove = Position.opponent(sideToMove);
+        push(PASS, 0);
+        redoLimit = size;
+    }
+
+    /**
+     * 마지막 수를 되돌립니다. 뒤집힌 돌은 기록된 마스크로 복원합니다.
+     */
+    public void unmake() {
+        size--;
+        int square = squares[size];
+        sideToMove = Position.opponent(sideToMove);
+        if (square == PASS) return;
+
+        long placed = 1L << square;
+        long flipped = flips[size];
+        if (sideToMove == Position.BLACK) {
+            black ^= placed | flipped;
+            white |= flipped;
+        } else {
+            white ^= placed | flipped;
+            black |= flipped;
+        }
+    }
+
+    /**
+     * 되돌린 수를 다시 둡니다. redo 할 기록이 없으면 false를 반환합니다.
+     */
+    public boolean redo() {
+        if (!canRedo()) return false;
+        int square = squares[size];
+        if (square == PASS) {
+            sideToMove = Position.opponent(sideToMove);
+        } else {
+            apply(square, flips[size]);
+        }
+        size++;
+        return true;
+    }
+
+    private void apply(int square, long flipped) {
+        long placed = 1L << square;
+        if (sideToMove == Position.BLACK) {
+            black |= placed | flipped;
+            white &= ~flipped;
+        } else {
+            white |= placed | flipped;
+            black &= ~flipped;
+        }
+        sideToMove = Position.opponent(sideToMove);
+    }
+
+    private void push(int square, long flipped) {
+        if (size == squares.length) {
+            squares = Arrays.copyOf(squares, size * 2);
+            flips = Arrays.copyOf(flips, size * 2);
+        }
+        squares[size] = square;
+        flips[size] = flipped;
+        size++;
+    }
+}
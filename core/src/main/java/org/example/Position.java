@@ -0,0 +1,227 @@
+package org.example;
+
+/**
+ * 불변 보드 상태.
+ * 흑/백 돌을 64비트 비트보드 두 개로 저장하며(칸 번호 = y * 8 + x), 한 번 만들어지면 바뀌지 않으므로
+ * 잠금 없이 여러 쓰레드(AI, 렌더러, 네트워크)가 공유할 수 있습니다.
+ * play()는 새 Position 하나만 할당합니다.
+ */
+public final class Position {
+
+    public static final int BLACK = 1;
+    public static final int WHITE = 2;
+
+    private static final int[] DY = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int[] DX = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    // 가로/대각선 방향으로 이어질 때 줄이 넘어가는 것을 막는 마스크 (a, h열 제외)
+    private static final long INNER_COLUMNS = 0x7E7E7E7E7E7E7E7EL;
+    private static final long SIDE_KEY = 0x9E3779B97F4A7C15L;
+
+    private static final Position INITIAL = new Position(
+            bit(4, 3) | bit(3, 4), bit(3, 3) | bit(4, 4), BLACK, 0);
+
+    private final long black;
+    private final long white;
+    private final int sideToMove;
+    private final int moveCount;
+    private final long hash;
+
+    private Position(long black, long white, int sideToMove, int moveCount) {
+        this.black = black;
+        this.white = white;
+        this.sideToMove = sideToMove;
+        this.moveCount = moveCount;
+        this.hash = hashOf(black, white, sideToMove);
+    }
+
+    public static Position initial() { return INITIAL; }
+
+    /**
+     * 비트보드로 직접 만듭니다. (기보 불러오기, 엔진 프로토콜 등)
+     */
+    public static Position of(long black, long white, int sideToMove, int moveCount) {
+        if ((black & white) != 0) throw new IllegalArgumentException("흑과 백이 같은 칸에 있습니다.");
+        if (sideToMove != BLACK && sideToMove != WHITE) throw new IllegalArgumentException("잘못된 차례: " + sideToMove);
+        return new Position(black, white, sideToMove, moveCount);
+    }
+
+    public static long bit(int x, int y) { return 1L << (y * 8 + x); }
+
+    public static int opponent(int player) { return player == BLACK ? WHITE : BLACK; }
+
+    // --- 조회 ---
+
+    public long getBlack() { return black; }
+    public long getWhite() { return white; }
+    public int getSideToMove() { return sideToMove; }
+    /** 패스를 포함해 지금까지 둔 수 */
+    public int getMoveCount() { return moveCount; }
+    public long hash() { return hash; }
+
+    public long discs(int player) { return player == BLACK ? black : white; }
+    public long empties() { return ~(black | white); }
+
+    /** 0 = 빈칸, 1 = 흑, 2 = 백 */
+    public int getPiece(int x, int y) {
+        long b = bit(x, y);
+        if ((black & b) != 0) return BLACK;
+        if ((white & b) != 0) return WHITE;
+        return 0;
+    }
+
+    public int count(int player) { return Long.bitCount(discs(player)); }
+    public int emptyCount() { return 64 - Long.bitCount(black | white); }
+
+    /**
+     * 둘 차례인 쪽이 둘 수 있는 칸의 비트 집합
+     */
+    public long legalMoves() {
+        return legalMoves(discs(sideToMove), discs(opponent(sideToMove)));
+    }
+
+    public boolean isLegal(int x, int y) {
+        if (x < 0 || x >= 8 || y < 0 || y >= 8) return false;
+        return (legalMoves() & bit(x, y)) != 0;
+    }
+
+    public boolean hasLegalMove() { return legalMoves() != 0; }
+
+    /** 양쪽 모두 둘 곳이 없으면 대국 종료 */
+    public boolean isTerminal() {
+        long p = discs(sideToMove), o = discs(opponent(sideToMove));
+        return legalMoves(p, o) == 0 && legalMoves(o, p) == 0;
+    }
+
+    /**
+     * 둘 차례인 쪽이 (x, y)에 두었을 때 뒤집히는 돌의 비트 집합. 둘 수 없으면 0입니다.
+     */
+    public long flipsFor(int x, int y) {
+        if (x < 0 || x >= 8 || y < 0 || y >= 8 || (empties() & bit(x, y)) == 0) return 0;
+        return flips(discs(sideToMove), discs(opponent(sideToMove)), x, y);
+    }
+
+    // --- 상태 전이 (새 인스턴스를 반환) ---
+
+    /**
+     * (x, y)에 두고 차례를 넘긴 새 Position을 반환합니다.
+     */
+    public Position play(int x, int y) {
+        long flipped = flipsFor(x, y);
+        if (flipped == 0) throw new IllegalArgumentException("둘 수 없는 위치입니다: " + x + ", " + y);
+        return applyMove(y * 8 + x, flipped);
+    }
+
+    public Position play(int square) {
+        return play(square & 7, square >>> 3);
+    }
+
+    /** 둘 곳이 없을 때 차례만 넘깁니다. */
+    public Position pass() {
+        return new Position(black, white, opponent(sideToMove), moveCount + 1);
+    }
+
+    Position applyMove(int square, long flipped) {
+        long placed = 1L << square;
+        if (sideToMove == BLACK) {
+            return new Position(black | placed | flipped, white & ~flipped, WHITE, moveCount + 1);
+        }
+        return new Position(black & ~flipped, white | placed | flipped, BLACK, moveCount + 1);
+    }
+
+    public int[][] toBoardArray() {
+        int[][] board = new int[8][8];
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                board[y][x] = getPiece(x, y);
+            }
+        }
+        return board;
+    }
+
+    // --- 비트보드 연산 ---
+
+    /**
+     * p가 둘 수 있는 칸. 8방향으로 상대 돌을 따라가며 끝에 빈칸이 있는 곳을 모읍니다.
+     */
+    public static long legalMoves(long p, long o) {
+        long empty = ~(p | o);
+        long inner = o & INNER_COLUMNS;
+        long moves = 0;
+        moves |= shiftFill(p, inner, 1) & empty;
+        moves |= shiftFill(p, inner, -1) & empty;
+        moves |= shiftFill(p, o, 8) & empty;
+        moves |= shiftFill(p, o, -8) & empty;
+        moves |= shiftFill(p, inner, 7) & empty;
+        moves |= shiftFill(p, inner, -7) & empty;
+        moves |= shiftFill(p, inner, 9) & empty;
+        moves |= shiftFill(p, inner, -9) & empty;
+        return moves;
+    }
+
+    private static long shiftFill(long p, long mask, int shift) {
+        long t = mask & shift(p, shift);
+        for (int i = 0; i < 5; i++) t |= mask & shift(t, shift);
+        return shift(t, shift);
+    }
+
+    private static long shift(long b, int n) {
+        return n > 0 ? b << n : b >>> -n;
+    }
+
+    public static long flips(long p, long o, int x, int y) {
+        long flipped = 0;
+        for (int d = 0; d < 8; d++) {
+            long line = 0;
+            int nx = x + DX[d], ny = y + DY[d];
+            while (nx >= 0 && nx < 8 && ny >= 0 && ny < 8 && (o & bit(nx, ny)) != 0) {
+                line |= bit(nx, ny);
+                nx += DX[d];
+                ny += DY[d];
+            }
+            if (line != 0 && nx >= 0 && nx < 8 && ny >= 0 && ny < 8 && (p & bit(nx, ny)) != 0) {
+                flipped |= line;
+            }
+        }
+        return flipped;
+    }
+
+    /** Position.hash()와 같은 값을 비트보드에서 바로 계산합니다. (MoveStack, 탐색용) */
+    static long hashOf(long black, long white, int sideToMove) {
+        long h = mix(black) ^ mix(white ^ 0xC2B2AE3D27D4EB4FL) * 31;
+        return sideToMove == BLACK ? h : h ^ SIDE_KEY;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // --- 값 비교: 돌 배치와 차례가 같으면 같은 국면입니다 (수순은 비교하지 않음) ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Position other)) return false;
+        return black == other.black && white == other.white && sideToMove == other.sideToMove;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(72);
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int piece = getPiece(x, y);
+                sb.append(piece == BLACK ? 'X' : piece == WHITE ? 'O' : '-');
+            }
+            sb.append('\n');
+        }
+        return sb.append(sideToMove == BLACK ? 'X' : 'O').toString();
+    }
+}
@@ -0,0 +1,106 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 무르기/다시 두기가 뒤집기 마스크만으로 국면을 정확히 복원하는지 무작위 대국으로 확인합니다.
+ */
+class GameModelTest {
+
+    private static final int GAMES = 2000;
+
+    @Test
+    void undoAllAndRedoAllRestoreEveryPly() {
+        Random random = new Random(2);
+        int passes = 0;
+        for (int g = 0; g < GAMES; g++) {
+            GameModel model = new GameModel();
+            // 착수마다 그 직후의 국면 (패스는 착수에 딸려 무르고 다시 둡니다)
+            List<Position> plies = new ArrayList<>();
+            plies.add(model.getPosition());
+            while (true) {
+                List<int[]> moves = model.getValidMoves();
+                if (moves.isEmpty()) {
+                    model.switchTurn();
+                    if (model.getValidMoves().isEmpty()) break;
+                    passes++;
+                    continue;
+                }
+                int[] move = moves.get(random.nextInt(moves.size()));
+                assertTrue(model.playMove(move[0], move[1]));
+                plies.add(model.getPosition());
+            }
+            Position end = model.getPosition();
+
+            int undos = 0;
+            while (model.undo()) undos++;
+            assertEquals(plies.size() - 1, undos, "game " + g);
+            assertEquals(Position.initial(), model.getPosition(), "game " + g);
+            assertFalse(model.canUndo());
+
+            for (int i = 1; i < plies.size(); i++) {
+                assertTrue(model.redo());
+                assertEquals(plies.get(i).getBlack(), model.getPosition().getBlack(), "game " + g + " ply " + i);
+                assertEquals(plies.get(i).getWhite(), model.getPosition().getWhite(), "game " + g + " ply " + i);
+            }
+            assertFalse(model.canRedo());
+            assertEquals(end, model.getPosition(), "game " + g);
+        }
+        // 패스가 실제로 섞였는지 (무작위 대국이라 드물지만 2000판이면 나옵니다)
+        assertTrue(passes > 0, "passes: " + passes);
+    }
+
+    @Test
+    void moveStackUnmakeRestoresPositionAndHash() {
+        Random random = new Random(3);
+        for (int g = 0; g < GAMES; g++) {
+            MoveStack stack = new MoveStack();
+            List<Position> seen = new ArrayList<>();
+            Position p = Position.initial();
+            seen.add(stack.toPosition());
+            while (!p.isTerminal()) {
+                long legal = p.legalMoves();
+                if (legal == 0) {
+                    p = p.pass();
+                    stack.makePass();
+                } else {
+                    for (int n = random.nextInt(Long.bitCount(legal)); n > 0; n--) legal &= legal - 1;
+                    int square = Long.numberOfTrailingZeros(legal);
+                    assertEquals(p.flipsFor(square & 7, square >>> 3), stack.make(square));
+                    p = p.play(square);
+                }
+                assertEquals(p, stack.toPosition());
+                assertEquals(p.hash(), stack.hash());
+                seen.add(stack.toPosition());
+            }
+
+            for (int i = seen.size() - 2; i >= 0; i--) {
+                stack.unmake();
+                assertEquals(seen.get(i), stack.toPosition(), "game " + g + " ply " + i);
+                assertEquals(seen.get(i).hash(), stack.hash());
+            }
+            for (int i = 1; i < seen.size(); i++) {
+                assertTrue(stack.redo());
+                assertEquals(seen.get(i), stack.toPosition(), "game " + g + " ply " + i);
+            }
+            assertFalse(stack.redo());
+        }
+    }
+
+    @Test
+    void illegalMoveChangesNothing() {
+        GameModel model = new GameModel();
+        assertFalse(model.playMove(0, 0));
+        assertFalse(model.playMove(8, 3));
+        assertEquals(Position.initial(), model.getPosition());
+        assertFalse(model.canUndo());
+    }
+}
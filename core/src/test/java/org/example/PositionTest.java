@@ -0,0 +1,86 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 비트보드 착수 생성이 예전 int[][] 보드의 8방향 탐색과 같은 답을 내는지 무작위 대국으로 확인합니다.
+ */
+class PositionTest {
+
+    private static final int GAMES = 20_000;
+    private static final int[] DY = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int[] DX = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    /** 비트보드 이전 GameModel.getPiecesToFlip 과 같은 방식으로 뒤집힐 돌의 마스크를 구합니다. */
+    private static long legacyFlips(int[][] board, int x, int y, int player) {
+        if (board[y][x] != 0) return 0;
+        int opponent = (player == 1) ? 2 : 1;
+        long flips = 0;
+        for (int i = 0; i < 8; i++) {
+            long line = 0;
+            int ny = y + DY[i];
+            int nx = x + DX[i];
+            while (ny >= 0 && ny < 8 && nx >= 0 && nx < 8 && board[ny][nx] == opponent) {
+                line |= Position.bit(nx, ny);
+                ny += DY[i];
+                nx += DX[i];
+            }
+            if (ny >= 0 && ny < 8 && nx >= 0 && nx < 8 && board[ny][nx] == player) flips |= line;
+        }
+        return flips;
+    }
+
+    @Test
+    void legalMovesAndFlipsMatchLegacyScan() {
+        Random random = new Random(1);
+        long plies = 0;
+        for (int g = 0; g < GAMES; g++) {
+            Position p = Position.initial();
+            while (!p.isTerminal()) {
+                int side = p.getSideToMove();
+                int[][] board = p.toBoardArray();
+                long expected = 0;
+                long[] expectedFlips = new long[64];
+                for (int sq = 0; sq < 64; sq++) {
+                    expectedFlips[sq] = legacyFlips(board, sq & 7, sq >>> 3, side);
+                    if (expectedFlips[sq] != 0) expected |= 1L << sq;
+                }
+                assertEquals(expected, p.legalMoves(), p.toString());
+
+                if (expected == 0) {
+                    p = p.pass();
+                    continue;
+                }
+                long legal = expected;
+                for (int n = random.nextInt(Long.bitCount(legal)); n > 0; n--) legal &= legal - 1;
+                int square = Long.numberOfTrailingZeros(legal);
+                assertEquals(expectedFlips[square], p.flipsFor(square & 7, square >>> 3), p.toString());
+
+                Position next = p.play(square);
+                long placed = (1L << square) | expectedFlips[square];
+                assertEquals(p.discs(side) | placed, next.discs(side));
+                assertEquals(p.discs(Position.opponent(side)) & ~placed, next.discs(Position.opponent(side)));
+                assertEquals(Position.opponent(side), next.getSideToMove());
+                assertEquals(Position.of(next.getBlack(), next.getWhite(), next.getSideToMove(), 0), next);
+                assertEquals(Position.of(next.getBlack(), next.getWhite(), next.getSideToMove(), 0).hash(), next.hash());
+                p = next;
+                plies++;
+            }
+        }
+        assertTrue(plies > GAMES * 50L, "plies: " + plies);
+    }
+
+    @Test
+    void initialPositionHasFourMoves() {
+        Position p = Position.initial();
+        assertEquals(Position.BLACK, p.getSideToMove());
+        assertEquals(4, Long.bitCount(p.legalMoves()));
+        assertEquals(2, p.count(Position.BLACK));
+        assertEquals(2, p.count(Position.WHITE));
+    }
+}
@@ -0,0 +1,198 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 공개 기보 데이터베이스(WTHOR, GGF)를 읽어 통계를 내는 도구.
+ * 읽기는 배치 단위로 흘려 보내고(WthorReader, GgfReader), 배치마다 병렬 스트림으로 규칙대로 재생해
+ * 국면별 승률, 칸별 착수 빈도, 초반 트리를 모읍니다. 국면 표는 최대 크기를 넘으면 새 국면을 더 받지 않으므로
+ * 기보가 아무리 커도 메모리 사용량은 일정합니다.
+ *
+ * 사용법: java org.example.ArchiveStats [--plies N] [--max-positions N] 파일.wtb|파일.ggf ...
+ */
+public class ArchiveStats {
+
+    /**
+     * 기보 한 판. moves는 칸 번호(y * 8 + x) 목록이며 패스는 들어 있지 않습니다 (재생 중에 자동 처리).
+     */
+    public record Game(Position start, byte[] moves) {}
+
+    private static final int BATCH_SIZE = 8192;
+    private static final int GAMES = 0, BLACK_WINS = 1, DRAWS = 2;
+
+    private final int statsPlies;
+    private final int maxPositions;
+
+    // 국면 해시 -> {대국 수, 흑 승, 무승부}
+    private final Map<Long, long[]> positions = new ConcurrentHashMap<>();
+    private final AtomicLongArray squareFrequency = new AtomicLongArray(64);
+    private final LongAdder games = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder blackWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder droppedPositions = new LongAdder();
+
+    public ArchiveStats(int statsPlies, int maxPositions) {
+        this.statsPlies = statsPlies;
+        this.maxPositions = maxPositions;
+    }
+
+    /**
+     * 배치 하나를 병렬로 처리합니다. 리더의 consumer로 넘기면 됩니다.
+     */
+    public void addBatch(List<Game> batch) {
+        batch.parallelStream().forEach(this::addGame);
+    }
+
+    /**
+     * 한 판을 시작 국면부터 규칙대로 재생합니다. 둘 수 없는 수가 나오면 그 판은 버립니다.
+     */
+    public void addGame(Game game) {
+        MoveStack board = new MoveStack(game.start());
+        long[] keys = new long[Math.min(statsPlies, game.moves().length) + 1];
+        int recorded = 0;
+
+        for (int ply = 0; ply < game.moves().length; ply++) {
+            if (board.legalMoves() == 0) board.makePass();
+            if (recorded < keys.length) keys[recorded++] = board.hash();
+
+            int square = game.moves()[ply];
+            if (square < 0 || board.make(square) == 0) {
+                rejected.increment();
+                return;
+            }
+        }
+        if (recorded < keys.length) keys[recorded++] = board.hash();
+
+        Position end = board.toPosition();
+        int diff = end.count(Position.BLACK) - end.count(Position.WHITE);
+        games.increment();
+        if (diff > 0) blackWins.increment();
+        else if (diff == 0) draws.increment();
+
+        for (byte square : game.moves()) squareFrequency.incrementAndGet(square);
+        for (int i = 0; i < recorded; i++) countPosition(keys[i], diff);
+    }
+
+    private void countPosition(long key, int diff) {
+        long[] result = positions.compute(key, (k, counts) -> {
+            if (counts == null) {
+                // 표가 가득 차면 새 국면은 받지 않습니다 (크기는 대략적으로만 제한됩니다).
+                if (positions.size() >= maxPositions) return null;
+                counts = new long[3];
+            }
+            counts[GAMES]++;
+            if (diff > 0) counts[BLACK_WINS]++;
+            else if (diff == 0) counts[DRAWS]++;
+            return counts;
+        });
+        if (result == null) droppedPositions.increment();
+    }
+
+    // --- 조회 ---
+
+    public long getGames() { return games.sum(); }
+    public long getRejected() { return rejected.sum(); }
+
+    /** 국면의 {대국 수, 흑 승, 무승부}. 기록이 없으면 null */
+    public long[] lookup(Position position) {
+        long[] counts = positions.get(position.hash());
+        return counts == null ? null : counts.clone();
+    }
+
+    /**
+     * 초반 트리: 국면에서 둘 수 있는 각 수로 이어지는 국면의 통계를 대국 수가 많은 순으로 반환합니다.
+     * 국면 표를 그대로 따라가므로 같은 국면으로 합류하는 수순은 한 노드로 모입니다.
+     */
+    public List<long[]> children(Position position) {
+        List<long[]> result = new ArrayList<>();
+        long legal = position.legalMoves();
+        while (legal != 0) {
+            int square = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            Position next = position.play(square);
+            if (!next.hasLegalMove() && !next.isTerminal()) next = next.pass();
+            long[] counts = positions.get(next.hash());
+            if (counts != null) result.add(new long[]{square, counts[GAMES], counts[BLACK_WINS], counts[DRAWS]});
+        }
+        result.sort((a, b) -> Long.compare(b[1], a[1]));
+        return result;
+    }
+
+    public void printReport(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long total = getGames();
+        System.out.printf("대국 %,d판 (버림 %,d판), %.1f초, 초당 %,.0f판%n",
+                total, getRejected(), seconds, total / Math.max(seconds, 1e-9));
+        if (total == 0) return;
+        System.out.printf("흑 승률 %.1f%%, 무승부 %.1f%%%n",
+                100.0 * blackWins.sum() / total, 100.0 * draws.sum() / total);
+        System.out.printf("국면 %,d개 기록 (표가 가득 차 버린 국면 %,d회)%n", positions.size(), droppedPositions.sum());
+
+        System.out.println("\n칸별 착수 빈도 (%):");
+        long moves = 0;
+        for (int sq = 0; sq < 64; sq++) moves += squareFrequency.get(sq);
+        for (int y = 0; y < 8; y++) {
+            StringBuilder row = new StringBuilder();
+            for (int x = 0; x < 8; x++) {
+                row.append(String.format("%5.2f ", 100.0 * squareFrequency.get(y * 8 + x) / Math.max(moves, 1)));
+            }
+            System.out.println(row);
+        }
+
+        System.out.println("\n초반 트리 (대국 수, 흑 승률):");
+        printTree(Position.initial(), "", 0, Math.min(4, statsPlies));
+    }
+
+    private void printTree(Position position, String indent, int depth, int maxDepth) {
+        if (depth >= maxDepth) return;
+        List<long[]> children = children(position);
+        for (int i = 0; i < Math.min(3, children.size()); i++) {
+            long[] c = children.get(i);
+            int square = (int) c[0];
+            System.out.printf("%s%c%d  %,d  %.1f%%%n", indent, (char) ('a' + (square & 7)), (square >>> 3) + 1,
+                    c[1], 100.0 * (c[2] + c[3] / 2.0) / c[1]);
+            Position next = position.play(square);
+            if (!next.hasLegalMove() && !next.isTerminal()) next = next.pass();
+            printTree(next, indent + "  ", depth + 1, maxDepth);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int plies = 20;
+        int maxPositions = 1_000_000;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--plies" -> plies = Integer.parseInt(args[++i]);
+                case "--max-positions" -> maxPositions = Integer.parseInt(args[++i]);
+                default -> files.add(Paths.get(args[i]));
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("사용법: ArchiveStats [--plies N] [--max-positions N] 파일.wtb|파일.ggf ...");
+            System.exit(1);
+        }
+
+        ArchiveStats stats = new ArchiveStats(plies, maxPositions);
+        long start = System.nanoTime();
+        for (Path file : files) {
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".ggf")) {
+                GgfReader.read(file, BATCH_SIZE, stats::addBatch);
+            } else {
+                WthorReader.read(file, BATCH_SIZE, stats::addBatch);
+            }
+            System.out.printf("%s 완료: 누적 %,d판%n", file, stats.getGames());
+        }
+        stats.printReport(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,255 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * 기보로 Evaluator 가중치를 학습하는 오프라인 도구.
+ * 기보(WTHOR, GGF)를 재생해 국면마다 (둘 차례 돌, 상대 돌, 라벨)을 기본형 배열에 모은 뒤,
+ * 모든 코어에서 나눠 정규방정식(XᵀX, Xᵀy)을 누적하고 단계별로 릿지 최소제곱을 풉니다.
+ * 라벨은 최종 돌 차이(기본) 또는 고정 깊이 탐색 점수입니다.
+ *
+ * 사용법: java org.example.EvalTrainer [--out weights.bin] [--max-samples N] [--ridge R]
+ *        [--label final|search] [--search-depth D] 파일.wtb|파일.ggf ...
+ */
+public class EvalTrainer {
+
+    private static final int BATCH_SIZE = 8192;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int F = Evaluator.FEATURES;
+
+    // 표본: 둘 차례 쪽 돌, 상대 돌, 둘 차례 쪽 기준 라벨(돌 차이)
+    private final long[] players;
+    private final long[] opponents;
+    private final float[] labels;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder rejectedGames = new LongAdder();
+    private final LongAdder games = new LongAdder();
+
+    private final boolean searchLabels;
+    private final int searchDepth;
+    private final ThreadLocal<SearchEngine> engines;
+
+    public EvalTrainer(int capacity, boolean searchLabels, int searchDepth) {
+        this.players = new long[capacity];
+        this.opponents = new long[capacity];
+        this.labels = new float[capacity];
+        this.searchLabels = searchLabels;
+        this.searchDepth = searchDepth;
+        this.engines = ThreadLocal.withInitial(SearchEngine::new);
+    }
+
+    public int getSampleCount() { return Math.min(size.get(), labels.length); }
+
+    // --- 표본 수집 ---
+
+    public void addBatch(List<ArchiveStats.Game> batch) {
+        batch.parallelStream().forEach(this::addGame);
+    }
+
+    /**
+     * 한 판을 재생해 국면마다 표본을 추가합니다. 잘못된 수가 있으면 그 판은 버리고, 배열이 차면 더 받지 않습니다.
+     */
+    public void addGame(ArchiveStats.Game game) {
+        if (size.get() >= labels.length) return;
+
+        byte[] moves = game.moves();
+        MoveStack board = new MoveStack(game.start());
+        long[] p = new long[moves.length];
+        long[] o = new long[moves.length];
+        int[] side = new int[moves.length];
+        for (int ply = 0; ply < moves.length; ply++) {
+            if (board.legalMoves() == 0) board.makePass();
+            p[ply] = board.getPlayer();
+            o[ply] = board.getOpponent();
+            side[ply] = board.getSideToMove();
+            if (moves[ply] < 0 || board.make(moves[ply]) == 0) {
+                rejectedGames.increment();
+                return;
+            }
+        }
+        games.increment();
+
+        Position end = board.toPosition();
+        int blackDiff = end.count(Position.BLACK) - end.count(Position.WHITE);
+
+        int start = size.getAndAdd(moves.length);
+        int n = Math.min(moves.length, labels.length - start);
+        for (int i = 0; i < n; i++) {
+            players[start + i] = p[i];
+            opponents[start + i] = o[i];
+            labels[start + i] = searchLabels
+                    ? searchLabel(p[i], o[i], side[i])
+                    : (side[i] == Position.BLACK ? blackDiff : -blackDiff);
+        }
+    }
+
+    private float searchLabel(long p, long o, int side) {
+        long black = side == Position.BLACK ? p : o;
+        long white = side == Position.BLACK ? o : p;
+        int score = engines.get().scoreAtDepth(Position.of(black, white, side, 0), searchDepth);
+        return (float) SearchEngine.toDiscs(score);
+    }
+
+    // --- 학습 ---
+
+    /**
+     * 단계별 정규방정식. XᵀX는 단계마다 F x F 이며, 단계가 다른 표본은 서로 섞이지 않습니다.
+     */
+    private static final class Normal {
+        final double[][] xtx = new double[Evaluator.PHASES][F * F];
+        final double[][] xty = new double[Evaluator.PHASES][F];
+        final long[] count = new long[Evaluator.PHASES];
+
+        Normal merge(Normal other) {
+            for (int ph = 0; ph < Evaluator.PHASES; ph++) {
+                for (int k = 0; k < F * F; k++) xtx[ph][k] += other.xtx[ph][k];
+                for (int k = 0; k < F; k++) xty[ph][k] += other.xty[ph][k];
+                count[ph] += other.count[ph];
+            }
+            return this;
+        }
+    }
+
+    private Normal accumulate(int chunk) {
+        Normal normal = new Normal();
+        float[] f = new float[F];
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(from + CHUNK_SIZE, getSampleCount());
+        for (int i = from; i < to; i++) {
+            int ph = Evaluator.phase(64 - Long.bitCount(players[i] | opponents[i]));
+            Evaluator.features(players[i], opponents[i], f);
+            double[] a = normal.xtx[ph];
+            double[] b = normal.xty[ph];
+            for (int r = 0; r < F; r++) {
+                if (f[r] == 0) continue;
+                b[r] += f[r] * labels[i];
+                for (int c = r; c < F; c++) a[r * F + c] += f[r] * f[c];
+            }
+            normal.count[ph]++;
+        }
+        return normal;
+    }
+
+    /**
+     * 모든 코어로 정규방정식을 누적한 뒤 단계별로 (XᵀX + ridge·I) w = Xᵀy 를 풉니다.
+     */
+    public Evaluator fit(double ridge) {
+        int chunks = (getSampleCount() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Normal total = IntStream.range(0, chunks).parallel()
+                .mapToObj(this::accumulate)
+                .reduce(new Normal(), Normal::merge);
+
+        float[] weights = Evaluator.defaults().getWeights();
+        for (int ph = 0; ph < Evaluator.PHASES; ph++) {
+            if (total.count[ph] == 0) continue;
+            double[] a = total.xtx[ph];
+            // 위 삼각만 누적했으므로 대칭으로 채웁니다.
+            for (int r = 0; r < F; r++) {
+                for (int c = 0; c < r; c++) a[r * F + c] = a[c * F + r];
+                a[r * F + r] += ridge;
+            }
+            double[] w = solve(a, total.xty[ph].clone());
+            for (int k = 0; k < F; k++) weights[ph * F + k] = (float) w[k];
+        }
+        return new Evaluator(weights);
+    }
+
+    // 부분 피벗 가우스 소거 (a는 F x F, 행 우선). a와 b를 덮어씁니다.
+    static double[] solve(double[] a, double[] b) {
+        for (int col = 0; col < F; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < F; r++) {
+                if (Math.abs(a[r * F + col]) > Math.abs(a[pivot * F + col])) pivot = r;
+            }
+            if (pivot != col) {
+                for (int c = 0; c < F; c++) {
+                    double t = a[col * F + c];
+                    a[col * F + c] = a[pivot * F + c];
+                    a[pivot * F + c] = t;
+                }
+                double t = b[col];
+                b[col] = b[pivot];
+                b[pivot] = t;
+            }
+            double d = a[col * F + col];
+            if (Math.abs(d) < 1e-12) continue;
+            for (int r = col + 1; r < F; r++) {
+                double factor = a[r * F + col] / d;
+                if (factor == 0) continue;
+                for (int c = col; c < F; c++) a[r * F + c] -= factor * a[col * F + c];
+                b[r] -= factor * b[col];
+            }
+        }
+        double[] x = new double[F];
+        for (int r = F - 1; r >= 0; r--) {
+            double sum = b[r];
+            for (int c = r + 1; c < F; c++) sum -= a[r * F + c] * x[c];
+            double d = a[r * F + r];
+            x[r] = Math.abs(d) < 1e-12 ? 0 : sum / d;
+        }
+        return x;
+    }
+
+    /** 표본 전체에 대한 평균 제곱근 오차 (돌 단위) */
+    public double rmse(Evaluator evaluator) {
+        int n = getSampleCount();
+        if (n == 0) return 0;
+        double sum = IntStream.range(0, n).parallel().mapToDouble(i -> {
+            double err = (double) evaluator.evaluate(players[i], opponents[i]) / Evaluator.SCALE - labels[i];
+            return err * err;
+        }).sum();
+        return Math.sqrt(sum / n);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get("weights.bin");
+        int maxSamples = 20_000_000;
+        double ridge = 1.0;
+        boolean searchLabels = false;
+        int searchDepth = 4;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out" -> out = Paths.get(args[++i]);
+                case "--max-samples" -> maxSamples = Integer.parseInt(args[++i]);
+                case "--ridge" -> ridge = Double.parseDouble(args[++i]);
+                case "--label" -> searchLabels = args[++i].equals("search");
+                case "--search-depth" -> searchDepth = Integer.parseInt(args[++i]);
+                default -> files.add(Paths.get(args[i]));
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("사용법: EvalTrainer [--out weights.bin] [--max-samples N] [--ridge R] "
+                    + "[--label final|search] [--search-depth D] 파일.wtb|파일.ggf ...");
+            System.exit(1);
+        }
+
+        EvalTrainer trainer = new EvalTrainer(maxSamples, searchLabels, searchDepth);
+        long start = System.nanoTime();
+        for (Path file : files) {
+            if (file.getFileName().toString().toLowerCase().endsWith(".ggf")) {
+                GgfReader.read(file, BATCH_SIZE, trainer::addBatch);
+            } else {
+                WthorReader.read(file, BATCH_SIZE, trainer::addBatch);
+            }
+        }
+        long loaded = System.nanoTime();
+        System.out.printf("대국 %,d판 (버림 %,d판), 표본 %,d개, 수집 %.1f초%n", trainer.games.sum(),
+                trainer.rejectedGames.sum(), trainer.getSampleCount(), (loaded - start) / 1e9);
+
+        System.out.printf("기본 가중치 RMSE: %.3f%n", trainer.rmse(Evaluator.defaults()));
+        Evaluator trained = trainer.fit(ridge);
+        long fitted = System.nanoTime();
+        System.out.printf("학습 %.1f초, RMSE: %.3f%n", (fitted - loaded) / 1e9, trainer.rmse(trained));
+
+        trained.save(out);
+        System.out.println("가중치 저장: " + out.toAbsolutePath());
+    }
+}
@@ -0,0 +1,162 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 탐색 말단의 국면 평가 함수.
+ * 대칭으로 묶은 10개 칸 그룹의 돌 수 차이, 둘 수 있는 곳 수 차이, 상수항을 특징으로 쓰고,
+ * 남은 빈칸 수에 따라 4단계로 나눠 단계마다 가중치를 따로 둡니다.
+ * 가중치는 돌 차이 단위이며, evaluate()는 그 100배를 정수로 돌려줍니다.
+ * 학습된 가중치 파일(EvalTrainer가 생성)이 있으면 시작할 때 읽어 씁니다.
+ */
+public final class Evaluator {
+
+    public static final int PHASES = 4;
+    public static final int FEATURES = 12;
+    public static final int SCALE = 100;
+
+    private static final int MAGIC = 0x4F544857; // "OTHW"
+    private static final int VERSION = 1;
+    private static final int CLASSES = 10;
+    private static final int MOBILITY = 10;
+    private static final int BIAS = 11;
+
+    // 칸 그룹: 네 귀퉁이 기준 (가로 거리, 세로 거리) 쌍을 순서 없이 묶은 것
+    // 0 = 모서리, 1 = C 칸, 2 = A 칸, 3 = B 칸, 4 = X 칸, 5~9 = 안쪽
+    private static final long[] CLASS_MASKS = new long[CLASSES];
+    static {
+        int[][] classOf = {
+                {0, 1, 2, 3},
+                {1, 4, 5, 6},
+                {2, 5, 7, 8},
+                {3, 6, 8, 9}
+        };
+        for (int sq = 0; sq < 64; sq++) {
+            int x = sq & 7, y = sq >>> 3;
+            int i = Math.min(x, 7 - x), j = Math.min(y, 7 - y);
+            CLASS_MASKS[classOf[j][i]] |= 1L << sq;
+        }
+    }
+
+    // 학습 전 기본값: 예전 칸 가중치 표와 같은 값 (모서리 1.00, X 칸 -0.50 ...)
+    private static final float[] DEFAULT_PHASE_WEIGHTS = {
+            1.00f, -0.20f, 0.10f, 0.05f, -0.50f, -0.02f, -0.02f, -0.01f, -0.01f, -0.01f, 0f, 0f
+    };
+
+    private static volatile Evaluator instance;
+
+    private final float[] weights;
+
+    public Evaluator(float[] weights) {
+        if (weights.length != PHASES * FEATURES) {
+            throw new IllegalArgumentException("가중치 개수가 맞지 않습니다: " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    public static Evaluator defaults() {
+        float[] w = new float[PHASES * FEATURES];
+        for (int phase = 0; phase < PHASES; phase++) {
+            System.arraycopy(DEFAULT_PHASE_WEIGHTS, 0, w, phase * FEATURES, FEATURES);
+        }
+        return new Evaluator(w);
+    }
+
+    /**
+     * 엔진이 쓰는 평가 함수. othello.weights(기본 weights.bin) 파일이 있으면 처음 한 번 읽고,
+     * 없거나 읽을 수 없으면 기본 가중치를 씁니다.
+     */
+    public static Evaluator getDefault() {
+        Evaluator e = instance;
+        if (e == null) {
+            synchronized (Evaluator.class) {
+                e = instance;
+                if (e == null) {
+                    instance = e = loadOrDefaults(Paths.get(System.getProperty("othello.weights", "weights.bin")));
+                }
+            }
+        }
+        return e;
+    }
+
+    private static Evaluator loadOrDefaults(Path file) {
+        if (!Files.exists(file)) return defaults();
+        try {
+            return load(file);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("가중치 파일을 읽지 못해 기본값을 씁니다 (" + file + "): " + e.getMessage());
+            return defaults();
+        }
+    }
+
+    // --- 평가 ---
+
+    /** 빈칸 수(0~60)에 따른 단계 (0 = 초반 ... 3 = 종반) */
+    public static int phase(int empties) {
+        if (empties > 44) return 0;
+        if (empties > 29) return 1;
+        if (empties > 14) return 2;
+        return 3;
+    }
+
+    /**
+     * 둘 차례인 쪽(p) 기준 특징 벡터를 out[0..FEATURES)에 채웁니다.
+     */
+    public static void features(long p, long o, float[] out) {
+        for (int c = 0; c < CLASSES; c++) {
+            out[c] = Long.bitCount(p & CLASS_MASKS[c]) - Long.bitCount(o & CLASS_MASKS[c]);
+        }
+        out[MOBILITY] = Long.bitCount(Position.legalMoves(p, o)) - Long.bitCount(Position.legalMoves(o, p));
+        out[BIAS] = 1;
+    }
+
+    /**
+     * 둘 차례인 쪽(p) 기준 예상 돌 차이의 SCALE배.
+     */
+    public int evaluate(long p, long o) {
+        int base = phase(64 - Long.bitCount(p | o)) * FEATURES;
+        float sum = weights[base + BIAS];
+        for (int c = 0; c < CLASSES; c++) {
+            int diff = Long.bitCount(p & CLASS_MASKS[c]) - Long.bitCount(o & CLASS_MASKS[c]);
+            sum += weights[base + c] * diff;
+        }
+        float mobilityWeight = weights[base + MOBILITY];
+        if (mobilityWeight != 0) {
+            sum += mobilityWeight * (Long.bitCount(Position.legalMoves(p, o)) - Long.bitCount(Position.legalMoves(o, p)));
+        }
+        return Math.round(sum * SCALE);
+    }
+
+    public float[] getWeights() { return weights.clone(); }
+
+    // --- 파일 입출력: "OTHW", 버전, 단계 수, 특징 수, float 가중치 (빅 엔디언) ---
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(PHASES);
+            out.writeInt(FEATURES);
+            for (float w : weights) out.writeFloat(w);
+        }
+    }
+
+    public static Evaluator load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("가중치 파일 형식이 아닙니다.");
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("지원하지 않는 버전: " + version);
+            if (in.readInt() != PHASES || in.readInt() != FEATURES) throw new IOException("특징 구성이 다릅니다.");
+            float[] w = new float[PHASES * FEATURES];
+            for (int i = 0; i < w.length; i++) w[i] = in.readFloat();
+            return new Evaluator(w);
+        }
+    }
+}
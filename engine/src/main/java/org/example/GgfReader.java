@@ -0,0 +1,153 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * GGF(Generic Game Format) 텍스트 기보를 읽는 클래스.
+ * "(;GM[Othello]...BO[8 ...]B[d3]W[c5]...;)" 형태의 대국을 한 판씩 잘라 읽으므로
+ * 파일 크기와 상관없이 한 판 분량의 버퍼만 사용합니다.
+ */
+public class GgfReader {
+
+    // 한 판이 이보다 길면 깨진 기록으로 보고 건너뜁니다.
+    private static final int MAX_GAME_CHARS = 64 * 1024;
+
+    /**
+     * 파일의 대국을 batchSize개씩 묶어 consumer에 넘깁니다. 8x8 오델로가 아니거나 해석할 수 없는 대국은 건너뜁니다.
+     */
+    public static void read(Path file, int batchSize, Consumer<List<ArchiveStats.Game>> consumer) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+            read(in, batchSize, consumer);
+        }
+    }
+
+    public static void read(Reader in, int batchSize, Consumer<List<ArchiveStats.Game>> consumer) throws IOException {
+        List<ArchiveStats.Game> batch = new ArrayList<>(batchSize);
+        StringBuilder game = new StringBuilder();
+        boolean inGame = false;
+        int prev = 0;
+        int c;
+        while ((c = in.read()) != -1) {
+            if (!inGame) {
+                if (prev == '(' && c == ';') {
+                    inGame = true;
+                    game.setLength(0);
+                }
+            } else if (prev == ';' && c == ')') {
+                inGame = false;
+                ArchiveStats.Game parsed = parseGame(game);
+                if (parsed != null) {
+                    batch.add(parsed);
+                    if (batch.size() == batchSize) {
+                        consumer.accept(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            } else if (game.length() < MAX_GAME_CHARS) {
+                game.append((char) c);
+            } else {
+                inGame = false;
+            }
+            prev = c;
+        }
+        if (!batch.isEmpty()) consumer.accept(batch);
+    }
+
+    /**
+     * "(;" 와 ";)" 사이의 내용 한 판을 해석합니다. 오델로 8x8 대국이 아니면 null을 반환합니다.
+     */
+    public static ArchiveStats.Game parseGame(CharSequence text) {
+        Position start = Position.initial();
+        byte[] moves = new byte[64];
+        int n = 0;
+
+        int i = 0;
+        int len = text.length();
+        while (i < len) {
+            // 태그 이름: 대문자 연속
+            int nameStart = i;
+            while (i < len && Character.isUpperCase(text.charAt(i))) i++;
+            if (i >= len || text.charAt(i) != '[' || i == nameStart) {
+                i = Math.max(i, nameStart) + 1;
+                continue;
+            }
+            String name = text.subSequence(nameStart, i).toString();
+            int close = indexOf(text, ']', i + 1);
+            if (close < 0) break;
+            String value = text.subSequence(i + 1, close).toString().trim();
+            i = close + 1;
+
+            switch (name) {
+                case "GM":
+                    if (!value.equalsIgnoreCase("Othello")) return null;
+                    break;
+                case "BO":
+                    start = parseBoard(value);
+                    if (start == null) return null;
+                    break;
+                case "B":
+                case "W":
+                    int square = parseMove(value);
+                    if (square == MoveStack.PASS) break;
+                    if (n == moves.length) moves = Arrays.copyOf(moves, n * 2);
+                    moves[n++] = (byte) square;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new ArchiveStats.Game(start, Arrays.copyOf(moves, n));
+    }
+
+    /**
+     * "8 ---...*O... *" 형식의 시작 국면. '*' = 흑, 'O' = 백, '-' = 빈칸, 마지막 글자 = 둘 차례.
+     */
+    static Position parseBoard(String value) {
+        String[] parts = value.split("\\s+");
+        if (parts.length < 2 || !parts[0].equals("8")) return null;
+        StringBuilder cells = new StringBuilder(64);
+        for (int k = 1; k < parts.length; k++) cells.append(parts[k]);
+        if (cells.length() != 65) return null;
+
+        long black = 0, white = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            char ch = cells.charAt(sq);
+            if (ch == '*') black |= 1L << sq;
+            else if (ch == 'O') white |= 1L << sq;
+            else if (ch != '-') return null;
+        }
+        char side = cells.charAt(64);
+        if (side != '*' && side != 'O') return null;
+        return Position.of(black, white, side == '*' ? Position.BLACK : Position.WHITE, 0);
+    }
+
+    /**
+     * "d3", "D3/1.25/0.01", "pa" 등. 패스면 MoveStack.PASS, 해석할 수 없으면 -2를 반환합니다.
+     */
+    static int parseMove(String value) {
+        int slash = value.indexOf('/');
+        String move = (slash >= 0 ? value.substring(0, slash) : value).trim().toLowerCase();
+        if (move.equals("pa") || move.equals("pass")) return MoveStack.PASS;
+        if (move.length() != 2) return -2;
+        int x = move.charAt(0) - 'a';
+        int y = move.charAt(1) - '1';
+        if (x < 0 || x >= 8 || y < 0 || y >= 8) return -2;
+        return y * 8 + x;
+    }
+
+    private static int indexOf(CharSequence text, char ch, int from) {
+        for (int k = from; k < text.length(); k++) {
+            if (text.charAt(k) == ch) return k;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,342 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * NBoard 호환 텍스트 프로토콜로 탐색 엔진을 제공하는 프로세스 (표준 입출력 또는 로컬 소켓).
+ * 지원 명령: nboard, set depth, set game, move, go, hint, ping
+ * 확장 명령:
+ *   set time &lt;초&gt;           수당 시간 제한 (0 = 깊이만 사용)
+ *   eval &lt;id&gt; &lt;국면&gt;        국면 하나를 분석 (GGF BO 형식, 예: "---...*O...--- *")
+ *                            → result &lt;id&gt; &lt;수&gt; &lt;평가&gt; &lt;깊이&gt; &lt;노드&gt; &lt;초&gt; &lt;주 변화&gt;
+ * eval은 작업 쓰레드들이 병렬로 처리하지만, 답은 항상 명령을 받은 순서대로 나갑니다.
+ * 잘못된 국면이나 분석 중 오류에도 "result &lt;id&gt; error"로 답하므로 요청마다 답은 정확히 하나입니다.
+ * 따라서 한 프로세스에 국면을 계속 흘려 넣고 답을 차례로 읽으면 됩니다.
+ * go, hint 에도 노드 수와 시간(nodestats), 주 변화를 함께 보냅니다.
+ *
+ * 사용법: java org.example.NBoardEngine [--threads N] [--port N]
+ */
+public class NBoardEngine {
+
+    private static final String NAME = "OthelloGame";
+    private static final int PV_LENGTH = 20;
+    private static final Future<String> END = CompletableFuture.completedFuture(null);
+
+    // eval 작업 쓰레드마다 엔진 하나 (치환표는 쓰레드 안에서만 공유)
+    private static final ThreadLocal<SearchEngine> WORKERS = ThreadLocal.withInitial(SearchEngine::new);
+
+    /** 한 국면의 분석 결과. move는 칸 번호 또는 MoveStack.PASS */
+    record Answer(int move, int score, int depth, long nodes, long nanos, int[] pv) {}
+
+    private final ExecutorService pool;
+    private final PrintStream out;
+    // 대국(go, hint)용 엔진. 수와 수 사이에 치환표를 재사용합니다.
+    private final SearchEngine engine = new SearchEngine();
+    // 명령 순서대로 답을 내보내기 위한 대기열 (pong은 앞선 모든 답 뒤에 나갑니다)
+    private final BlockingQueue<Future<String>> replies = new LinkedBlockingQueue<>();
+
+    private Position position = Position.initial();
+    private int depth = 12;
+    private long timeMs = 0;
+
+    public NBoardEngine(ExecutorService pool, PrintStream out) {
+        this.pool = pool;
+        this.out = out;
+    }
+
+    /**
+     * 입력이 끝나거나 quit을 받을 때까지 명령을 처리합니다. 돌아오기 전에 남은 답을 모두 내보냅니다.
+     */
+    public void run(BufferedReader in) throws IOException {
+        Thread printer = new Thread(this::printLoop, "nboard-printer");
+        printer.start();
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.equals("quit")) break;
+                if (line.isEmpty()) continue;
+                // 잘못된 명령 한 줄 때문에 엔진이 죽지 않도록 줄마다 처리합니다.
+                try {
+                    handle(line);
+                } catch (RuntimeException e) {
+                    System.err.println("명령을 처리하지 못했습니다 (" + line + "): " + e);
+                    reply("status error: " + e.getMessage());
+                }
+            }
+        } finally {
+            replies.add(END);
+            try {
+                printer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void printLoop() {
+        try {
+            while (true) {
+                Future<String> reply = replies.take();
+                if (reply == END) return;
+                String text;
+                try {
+                    text = reply.get();
+                } catch (ExecutionException e) {
+                    // 실패해도 이 자리에 답 한 줄을 보내야 뒤의 답이 다른 요청과 짝지어지지 않습니다.
+                    System.err.println("분석 실패: " + e.getCause());
+                    text = "status error: " + e.getCause();
+                }
+                if (!text.isEmpty()) {
+                    out.print(text + "\n");
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reply(String text) {
+        replies.add(CompletableFuture.completedFuture(text));
+    }
+
+    private void handle(String line) {
+        String[] words = line.split("\\s+");
+        switch (words[0]) {
+            case "nboard" -> reply("set myname " + NAME);
+            case "ping" -> reply(words.length > 1 ? "pong " + words[1] : "pong");
+            case "set" -> set(words, line);
+            case "move" -> move(argument(words, "move <수>"));
+            case "go" -> reply(go());
+            case "hint" -> reply(hint(words.length > 1 ? Integer.parseInt(words[1]) : 1));
+            case "eval" -> replies.add(eval(words));
+            // 학습, 대국 전체 분석은 지원하지 않습니다.
+            case "learn", "analyze" -> { }
+            default -> System.err.println("알 수 없는 명령: " + line);
+        }
+    }
+
+    private static String argument(String[] words, String usage) {
+        if (words.length < 2) throw new IllegalArgumentException("사용법: " + usage);
+        return words[1];
+    }
+
+    private static String value(String[] words, String usage) {
+        if (words.length < 3) throw new IllegalArgumentException("사용법: " + usage);
+        return words[2];
+    }
+
+    // --- 상태 설정 ---
+
+    private void set(String[] words, String line) {
+        switch (argument(words, "set <항목> <값>")) {
+            case "depth" -> depth = Math.max(1, Integer.parseInt(value(words, "set depth <깊이>")));
+            case "time" -> timeMs = Math.round(Double.parseDouble(value(words, "set time <초>")) * 1000);
+            case "game" -> setGame(line.substring(line.indexOf("game") + 4));
+            case "contempt" -> { }
+            default -> System.err.println("알 수 없는 설정: " + line);
+        }
+    }
+
+    private void setGame(String ggf) {
+        int start = ggf.indexOf("(;");
+        int end = ggf.lastIndexOf(";)");
+        if (start < 0 || end <= start) throw new IllegalArgumentException("GGF 대국이 아닙니다.");
+        ArchiveStats.Game game = GgfReader.parseGame(ggf.substring(start + 2, end));
+        if (game == null) throw new IllegalArgumentException("오델로 8x8 대국이 아닙니다.");
+
+        Position p = game.start();
+        for (byte square : game.moves()) {
+            p = apply(p, square);
+            if (p == null) throw new IllegalArgumentException("기보에 둘 수 없는 수가 있습니다.");
+        }
+        position = p;
+    }
+
+    private void move(String text) {
+        Position next = apply(position, GgfReader.parseMove(text));
+        if (next == null) throw new IllegalArgumentException("둘 수 없는 수: " + text);
+        position = next;
+    }
+
+    // square를 둔 국면. 둘 곳이 없는 쪽이면 먼저 패스하며, 둘 수 없는 수면 null
+    private static Position apply(Position p, int square) {
+        if (square == MoveStack.PASS) return p.hasLegalMove() ? null : p.pass();
+        if (!p.hasLegalMove() && !p.isTerminal()) p = p.pass();
+        if (square < 0 || (p.legalMoves() >>> square & 1) == 0) return null;
+        return p.play(square);
+    }
+
+    // --- 탐색 ---
+
+    private String go() {
+        Answer a = think(engine, position, depth, timeMs);
+        return "nodestats " + a.nodes() + " " + seconds(a.nanos()) + "\n"
+                + "status depth " + a.depth() + " pv " + pvString(a.pv()) + "\n"
+                + "=== " + squareName(a.move()) + "/" + discs(a.score()) + "/" + seconds(a.nanos());
+    }
+
+    /**
+     * 좋은 수 count개를 NBoard search 줄로 보냅니다 (search &lt;주 변화&gt; &lt;평가&gt; 0 &lt;깊이&gt;).
+     */
+    private String hint(int count) {
+        long start = System.nanoTime();
+        if (!position.hasLegalMove()) {
+            Answer a = think(engine, position, depth, timeMs);
+            return "search " + pvString(a.pv()) + " " + discs(a.score()) + " 0 " + a.depth() + "\n"
+                    + "nodestats " + a.nodes() + " " + seconds(a.nanos()) + "\nstatus";
+        }
+
+        long deadline = timeMs > 0 ? start + timeMs * 1_000_000L : Long.MAX_VALUE;
+        int target = Math.min(depth, position.emptyCount());
+        int[] reached = new int[1];
+        int[][] result = new int[2][];
+        engine.analyze(position, () -> reached[0] >= target || System.nanoTime() > deadline,
+                (d, squares, scores) -> {
+                    reached[0] = d;
+                    result[0] = squares;
+                    result[1] = scores;
+                });
+        long nodes = engine.getNodes();
+        long nanos = System.nanoTime() - start;
+
+        StringBuilder sb = new StringBuilder();
+        if (result[0] != null) {
+            for (int i = 0; i < Math.min(count, result[0].length); i++) {
+                int[] pv = engine.principalVariation(position, result[0][i], PV_LENGTH);
+                sb.append("search ").append(pvString(pv)).append(' ').append(discs(result[1][i]))
+                        .append(" 0 ").append(reached[0]).append('\n');
+            }
+        }
+        return sb.append("nodestats ").append(nodes).append(' ').append(seconds(nanos)).append("\nstatus").toString();
+    }
+
+    private Future<String> eval(String[] words) {
+        String id = argument(words, "eval <id> <국면>");
+        Position root = words.length > 2
+                ? GgfReader.parseBoard("8 " + String.join("", Arrays.copyOfRange(words, 2, words.length)))
+                : null;
+        // 답 줄 수가 입력 줄 수와 어긋나지 않도록 잘못된 국면에도 답을 보냅니다.
+        if (root == null) return CompletableFuture.completedFuture("result " + id + " error");
+
+        int d = depth;
+        long t = timeMs;
+        return CompletableFuture.supplyAsync(() -> {
+            Answer a = think(WORKERS.get(), root, d, t);
+            return "result " + id + " " + squareName(a.move()) + " " + discs(a.score()) + " " + a.depth()
+                    + " " + a.nodes() + " " + seconds(a.nanos()) + " " + pvString(a.pv());
+        }, pool).exceptionally(e -> {
+            System.err.println("분석 실패 (" + id + "): " + e);
+            return "result " + id + " error";
+        });
+    }
+
+    /**
+     * root에서 둘 수를 찾습니다. 둘 곳이 없으면 패스한 국면을 대신 읽고 PASS를 답합니다.
+     */
+    static Answer think(SearchEngine engine, Position root, int maxDepth, long timeMs) {
+        long start = System.nanoTime();
+        if (!root.hasLegalMove()) {
+            if (root.isTerminal()) {
+                int side = root.getSideToMove();
+                int diff = root.count(side) - root.count(Position.opponent(side));
+                return new Answer(MoveStack.PASS, diff * SearchEngine.WIN_SCALE, 0, 0, System.nanoTime() - start, new int[0]);
+            }
+            Answer after = think(engine, root.pass(), maxDepth, timeMs);
+            int[] pv = new int[after.pv().length + 1];
+            pv[0] = MoveStack.PASS;
+            System.arraycopy(after.pv(), 0, pv, 1, after.pv().length);
+            return new Answer(MoveStack.PASS, -after.score(), after.depth(), after.nodes(), System.nanoTime() - start, pv);
+        }
+
+        int[] last = new int[2]; // {깊이, 점수}
+        int[] best = engine.search(root, maxDepth, timeMs, () -> false, (d, move, score) -> {
+            last[0] = d;
+            last[1] = score;
+        });
+        int move = best[1] * 8 + best[0];
+        long nodes = engine.getNodes();
+        long nanos = System.nanoTime() - start;
+        return new Answer(move, last[1], last[0], nodes, nanos, engine.principalVariation(root, move, PV_LENGTH));
+    }
+
+    // --- 출력 형식 (로케일과 상관없이 소수점은 '.') ---
+
+    static String squareName(int square) {
+        if (square == MoveStack.PASS) return "PA";
+        return "" + (char) ('A' + (square & 7)) + ((square >>> 3) + 1);
+    }
+
+    private static String pvString(int[] pv) {
+        if (pv.length == 0) return "-";
+        StringBuilder sb = new StringBuilder();
+        for (int square : pv) sb.append(squareName(square));
+        return sb.toString();
+    }
+
+    private static String discs(int score) {
+        return String.format(Locale.ROOT, "%.2f", SearchEngine.toDiscs(score));
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e9);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int port = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                default -> {
+                    System.err.println("사용법: NBoardEngine [--threads N] [--port N]");
+                    System.exit(1);
+                }
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "nboard-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        if (port == 0) {
+            new NBoardEngine(pool, System.out)
+                    .run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+        } else {
+            // 같은 컴퓨터의 분석 도구용이므로 루프백에만 열고, 연결은 하나씩 차례로 받습니다.
+            try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+                System.err.println("NBoard 엔진 대기 중: " + server.getLocalSocketAddress());
+                while (true) {
+                    Socket socket = server.accept();
+                    // 한 연결의 입출력 오류는 그 연결만 끝내고 다음 연결을 계속 받습니다.
+                    try (socket) {
+                        new NBoardEngine(pool, new PrintStream(socket.getOutputStream(), false, StandardCharsets.UTF_8))
+                                .run(new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)));
+                    } catch (IOException e) {
+                        System.err.println("연결 오류 (" + socket.getRemoteSocketAddress() + "): " + e.getMessage());
+                    }
+                }
+            }
+        }
+        pool.shutdownNow();
+    }
+}
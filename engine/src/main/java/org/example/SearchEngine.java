@@ -0,0 +1,303 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 로컬 알파-베타 탐색기.
+ * 반복 심화로 깊이를 하나씩 늘리며, 깊이마다 찾은 최선의 수를 리스너로 알려 줍니다.
+ * 치환표(transposition table)는 탐색이 끝나도 유지되므로, 상대 차례에 분석해 둔 결과를
+ * 실제로 그 수가 두어졌을 때 다시 사용합니다.
+ * 인스턴스 하나는 한 쓰레드에서만 사용해야 합니다.
+ */
+public class SearchEngine {
+
+    public interface ProgressListener {
+        void onProgress(int depth, int[] bestMove, int score);
+    }
+
+    public interface AnalysisListener {
+        /** squares[i]에 둘 때의 점수 scores[i]. 점수가 높은 순으로 정렬되어 있습니다. */
+        void onScores(int depth, int[] squares, int[] scores);
+    }
+
+    // 수 정렬용 칸별 가중치: 모서리는 좋고, 모서리 옆(X, C 칸)은 나쁩니다.
+    private static final int[][] SQUARE_WEIGHTS = {
+            {100, -20, 10,  5,  5, 10, -20, 100},
+            {-20, -50, -2, -2, -2, -2, -50, -20},
+            { 10,  -2, -1, -1, -1, -1,  -2,  10},
+            {  5,  -2, -1, -1, -1, -1,  -2,   5},
+            {  5,  -2, -1, -1, -1, -1,  -2,   5},
+            { 10,  -2, -1, -1, -1, -1,  -2,  10},
+            {-20, -50, -2, -2, -2, -2, -50, -20},
+            {100, -20, 10,  5,  5, 10, -20, 100}
+    };
+    // 가중치가 큰 칸부터 탐색하기 위한 칸 순서
+    private static final int[] MOVE_ORDER = new int[64];
+    static {
+        Integer[] order = new Integer[64];
+        for (int sq = 0; sq < 64; sq++) order[sq] = sq;
+        Arrays.sort(order, (a, b) -> SQUARE_WEIGHTS[b >>> 3][b & 7] - SQUARE_WEIGHTS[a >>> 3][a & 7]);
+        for (int i = 0; i < 64; i++) MOVE_ORDER[i] = order[i];
+    }
+    private static final int MAX_DEPTH = 60;
+    private static final int INF = 1_000_000;
+    // 종국 점수는 어떤 평가값보다 크게 잡습니다.
+    public static final int WIN_SCALE = 10_000;
+
+    // 치환표: 키는 국면 해시, 값은 점수(32) | 깊이(8) | 종류(2) | 최선 수 + 1(7)
+    private static final int TT_SIZE = 1 << 18;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+    private final long[] ttKeys = new long[TT_SIZE];
+    private final long[] ttData = new long[TT_SIZE];
+
+    // 탐색 중에는 국면을 새로 만들지 않고 이 스택에서 make/unmake만 합니다.
+    private final MoveStack board = new MoveStack();
+    private final Evaluator evaluator;
+    private long deadline;
+    private BooleanSupplier cancelled;
+    private boolean aborted;
+    private long nodes;
+
+    public SearchEngine() {
+        this(Evaluator.getDefault());
+    }
+
+    public SearchEngine(Evaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * 주어진 시간 안에서 최선의 수({x, y})를 찾습니다. 둘 곳이 없으면 null을 반환합니다.
+     * 시간이 다 되거나 cancelled가 true가 되면 마지막으로 끝난 깊이의 결과를 돌려줍니다.
+     */
+    public int[] search(Position root, long timeBudgetMs,
+                        BooleanSupplier cancelled, ProgressListener listener) {
+        return search(root, MAX_DEPTH, timeBudgetMs, cancelled, listener);
+    }
+
+    /**
+     * 깊이를 maxDepth까지만 늘리는 search. timeBudgetMs가 0 이하면 시간 제한 없이 maxDepth까지 읽습니다.
+     */
+    public int[] search(Position root, int maxDepth, long timeBudgetMs,
+                        BooleanSupplier cancelled, ProgressListener listener) {
+        int[] moves = toSquares(root.legalMoves());
+        if (moves.length == 0) return null;
+
+        this.deadline = timeBudgetMs > 0 ? System.nanoTime() + timeBudgetMs * 1_000_000L : Long.MAX_VALUE;
+        this.cancelled = cancelled;
+        this.aborted = false;
+        this.nodes = 0;
+
+        board.reset(root);
+        int best = moves[0];
+        for (int depth = 1; depth <= Math.min(Math.min(maxDepth, MAX_DEPTH), root.emptyCount()); depth++) {
+            // 직전 깊이의 최선 수를 먼저 탐색해 가지치기를 돕습니다.
+            moveToFront(moves, best);
+
+            int alpha = -INF;
+            int depthBest = -1;
+            for (int move : moves) {
+                board.make(move);
+                int score = -negamax(depth - 1, -INF, -alpha, false);
+                board.unmake();
+                if (aborted) break;
+                if (score > alpha) {
+                    alpha = score;
+                    depthBest = move;
+                }
+            }
+            if (aborted || depthBest < 0) break;
+
+            best = depthBest;
+            if (listener != null) listener.onProgress(depth, new int[]{best & 7, best >>> 3}, alpha);
+        }
+        return new int[]{best & 7, best >>> 3};
+    }
+
+    /**
+     * 모든 합법수의 점수를 깊이를 늘려 가며 계속 계산합니다. cancelled가 true가 되거나
+     * 끝까지 읽을 때까지 돌아오지 않으며, 깊이마다 수별 점수를 리스너로 보냅니다.
+     */
+    public void analyze(Position root, BooleanSupplier cancelled, AnalysisListener listener) {
+        int[] moves = toSquares(root.legalMoves());
+        if (moves.length == 0) return;
+
+        this.deadline = Long.MAX_VALUE;
+        this.cancelled = cancelled;
+        this.aborted = false;
+        this.nodes = 0;
+
+        board.reset(root);
+        int[] scores = new int[moves.length];
+        for (int depth = 1; depth <= Math.min(MAX_DEPTH, root.emptyCount()); depth++) {
+            for (int i = 0; i < moves.length; i++) {
+                board.make(moves[i]);
+                scores[i] = -negamax(depth - 1, -INF, INF, false);
+                board.unmake();
+                if (aborted) return;
+            }
+            sortByScore(moves, scores);
+            listener.onScores(depth, moves.clone(), scores.clone());
+        }
+    }
+
+    /**
+     * 고정 깊이로 root를 탐색한 점수 (둘 차례인 쪽 기준). 학습용 라벨 등에 씁니다.
+     */
+    public int scoreAtDepth(Position root, int depth) {
+        this.deadline = Long.MAX_VALUE;
+        this.cancelled = () -> false;
+        this.aborted = false;
+        this.nodes = 0;
+        board.reset(root);
+        return negamax(depth, -INF, INF, false);
+    }
+
+    /** 마지막 search, analyze, scoreAtDepth 에서 방문한 노드 수 */
+    public long getNodes() { return nodes; }
+
+    /**
+     * 마지막 탐색 뒤 root에서 first를 두고 치환표의 최선 수를 따라간 주 변화(principal variation).
+     * 패스는 MoveStack.PASS로 들어가며, 치환표에 이어지는 수가 없으면 거기서 끝납니다.
+     */
+    public int[] principalVariation(Position root, int first, int maxLength) {
+        board.reset(root);
+        int[] pv = new int[maxLength];
+        int n = 0;
+        int square = first;
+        while (n < maxLength && square >= 0 && (board.legalMoves() >>> square & 1) != 0) {
+            board.make(square);
+            pv[n++] = square;
+            if (board.legalMoves() == 0) {
+                board.makePass();
+                if (board.legalMoves() == 0 || n == maxLength) break;
+                pv[n++] = MoveStack.PASS;
+            }
+            long key = board.hash();
+            int slot = (int) key & (TT_SIZE - 1);
+            square = ttKeys[slot] == key ? (int) (ttData[slot] & 0x7F) - 1 : -1;
+        }
+        return Arrays.copyOf(pv, n);
+    }
+
+    /** 탐색 점수를 돌 차이로 바꿉니다 (끝까지 읽은 점수는 정확한 돌 차이). */
+    public static double toDiscs(int score) {
+        if (Math.abs(score) >= WIN_SCALE) return (double) score / WIN_SCALE;
+        return (double) score / Evaluator.SCALE;
+    }
+
+    private int negamax(int depth, int alpha, int beta, boolean passed) {
+        nodes++;
+        if (System.nanoTime() > deadline || cancelled.getAsBoolean()) {
+            aborted = true;
+            return 0;
+        }
+
+        long legal = board.legalMoves();
+        if (legal == 0) {
+            if (passed) return finalScore();
+            board.makePass();
+            int score = -negamax(depth, -beta, -alpha, true);
+            board.unmake();
+            return score;
+        }
+        if (depth == 0) return evaluate();
+
+        long key = board.hash();
+        int slot = (int) key & (TT_SIZE - 1);
+        int ttMove = -1;
+        if (ttKeys[slot] == key) {
+            long data = ttData[slot];
+            int ttScore = (int) (data >> 32);
+            int ttDepth = (int) (data >>> 9) & 0xFF;
+            int ttFlag = (int) (data >>> 7) & 0x3;
+            ttMove = (int) (data & 0x7F) - 1;
+            if (ttDepth >= depth) {
+                if (ttFlag == EXACT) return ttScore;
+                if (ttFlag == LOWER && ttScore > alpha) alpha = ttScore;
+                else if (ttFlag == UPPER && ttScore < beta) beta = ttScore;
+                if (alpha >= beta) return ttScore;
+            }
+        }
+
+        int alphaOrig = alpha;
+        int bestMove = -1;
+        // 치환표에 남은 최선 수를 먼저 둡니다.
+        if (ttMove >= 0 && (legal >>> ttMove & 1) != 0) {
+            board.make(ttMove);
+            int score = -negamax(depth - 1, -beta, -alpha, false);
+            board.unmake();
+            if (aborted) return 0;
+            if (score > alpha) {
+                alpha = score;
+                bestMove = ttMove;
+            }
+        }
+        if (alpha < beta) {
+            for (int move : MOVE_ORDER) {
+                if ((legal >>> move & 1) == 0 || move == ttMove) continue;
+                board.make(move);
+                int score = -negamax(depth - 1, -beta, -alpha, false);
+                board.unmake();
+                if (aborted) return 0;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                }
+                if (alpha >= beta) break;
+            }
+        }
+
+        int flag = alpha <= alphaOrig ? UPPER : alpha >= beta ? LOWER : EXACT;
+        ttKeys[slot] = key;
+        ttData[slot] = ((long) alpha << 32) | ((long) depth << 9) | ((long) flag << 7) | (bestMove + 1);
+        return alpha;
+    }
+
+    // 둘 차례인 쪽 기준의 평가값
+    private int evaluate() {
+        return evaluator.evaluate(board.getPlayer(), board.getOpponent());
+    }
+
+    private int finalScore() {
+        int diff = Long.bitCount(board.getPlayer()) - Long.bitCount(board.getOpponent());
+        return diff * WIN_SCALE;
+    }
+
+    private static int[] toSquares(long moves) {
+        int[] squares = new int[Long.bitCount(moves)];
+        for (int i = 0; moves != 0; i++) {
+            squares[i] = Long.numberOfTrailingZeros(moves);
+            moves &= moves - 1;
+        }
+        return squares;
+    }
+
+    // 점수가 높은 순으로 (삽입 정렬, 후보 수가 적어 충분합니다)
+    private static void sortByScore(int[] moves, int[] scores) {
+        for (int i = 1; i < moves.length; i++) {
+            int m = moves[i], s = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < s) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = m;
+            scores[j + 1] = s;
+        }
+    }
+
+    private static void moveToFront(int[] moves, int move) {
+        for (int i = 0; i < moves.length; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * WTHOR(.wtb) 기보 데이터베이스를 읽는 클래스.
+ * 파일을 일정 크기의 창(window) 단위로 메모리 매핑해 읽으므로, 파일 크기와 상관없이
+ * 사용하는 메모리는 창 하나와 배치 하나로 제한됩니다.
+ *
+ * 형식: 16바이트 헤더(4~7번 바이트 = 대국 수) 뒤에 68바이트 레코드가 이어집니다.
+ * 레코드 = 대회 번호(2) + 흑 번호(2) + 백 번호(2) + 흑 돌 수(1) + 이론 점수(1) + 착수 60개(1바이트씩, 10*행+열, 0 = 끝).
+ */
+public class WthorReader {
+
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 68;
+    private static final int MOVES_OFFSET = 8;
+    private static final int RECORDS_PER_WINDOW = (64 << 20) / RECORD_SIZE;
+
+    /**
+     * 파일의 대국을 batchSize개씩 묶어 consumer에 넘깁니다. consumer가 돌아와야 다음 배치를 읽습니다.
+     */
+    public static void read(Path file, int batchSize, Consumer<List<ArchiveStats.Game>> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) throw new IOException("WTHOR 헤더가 없습니다: " + file);
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            long declared = header.getInt(4) & 0xFFFFFFFFL;
+            int boardSize = header.get(12);
+            if (boardSize != 0 && boardSize != 8) throw new IOException("8x8 기보가 아닙니다: " + file);
+
+            long total = Math.min(declared, (fileSize - HEADER_SIZE) / RECORD_SIZE);
+            List<ArchiveStats.Game> batch = new ArrayList<>(batchSize);
+            for (long first = 0; first < total; first += RECORDS_PER_WINDOW) {
+                long count = Math.min(RECORDS_PER_WINDOW, total - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * RECORD_SIZE, count * RECORD_SIZE);
+                for (int i = 0; i < count; i++) {
+                    batch.add(parseRecord(window, i * RECORD_SIZE));
+                    if (batch.size() == batchSize) {
+                        consumer.accept(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) consumer.accept(batch);
+        }
+    }
+
+    private static ArchiveStats.Game parseRecord(MappedByteBuffer buf, int offset) {
+        byte[] moves = new byte[60];
+        int n = 0;
+        for (int i = 0; i < 60; i++) {
+            int v = buf.get(offset + MOVES_OFFSET + i) & 0xFF;
+            if (v == 0) break;
+            int row = v / 10, col = v % 10;
+            // 범위를 벗어난 값은 재생 단계에서 잘못된 수로 걸러지도록 -1로 둡니다.
+            moves[n++] = (row >= 1 && row <= 8 && col >= 1 && col <= 8) ? (byte) ((row - 1) * 8 + (col - 1)) : -1;
+        }
+        return new ArchiveStats.Game(Position.initial(), Arrays.copyOf(moves, n));
+    }
+}
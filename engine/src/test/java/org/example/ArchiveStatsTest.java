@@ -0,0 +1,199 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WTHOR/GGF 리더와 ArchiveStats 재생을 작은 기보 파일로 확인합니다.
+ * 패스가 있는 대국, 표준이 아닌 시작 국면(BO), 둘 수 없는 수가 든 대국을 함께 넣습니다.
+ */
+class ArchiveStatsTest {
+
+    @TempDir
+    Path dir;
+
+    /** 무작위로 끝까지 둔 대국. 수순에는 패스 자리에 MoveStack.PASS가 들어 있습니다. */
+    private record Played(Position start, List<Integer> moves, List<Position> before, Position end) {
+        boolean hasPass() { return moves.contains(MoveStack.PASS); }
+        int diff() { return end.count(Position.BLACK) - end.count(Position.WHITE); }
+    }
+
+    private static Played play(Position start, long seed) {
+        Random random = new Random(seed);
+        List<Integer> moves = new ArrayList<>();
+        List<Position> before = new ArrayList<>();
+        Position p = start;
+        while (!p.isTerminal()) {
+            long legal = p.legalMoves();
+            if (legal == 0) {
+                moves.add(MoveStack.PASS);
+                p = p.pass();
+                continue;
+            }
+            for (int n = random.nextInt(Long.bitCount(legal)); n > 0; n--) legal &= legal - 1;
+            int square = Long.numberOfTrailingZeros(legal);
+            before.add(p);
+            moves.add(square);
+            p = p.play(square);
+        }
+        return new Played(start, moves, before, p);
+    }
+
+    // 패스가 한 번 이상 나오는 대국을 seed부터 차례로 찾습니다.
+    private static Played playWithPass(long seed) {
+        for (long s = seed; ; s++) {
+            Played game = play(Position.initial(), s);
+            if (game.hasPass()) return game;
+        }
+    }
+
+    private static byte[] wthorRecord(List<Integer> moves) {
+        byte[] record = new byte[68];
+        int n = 8;
+        for (int square : moves) {
+            if (square == MoveStack.PASS) continue;
+            record[n++] = (byte) (((square >>> 3) + 1) * 10 + (square & 7) + 1);
+        }
+        return record;
+    }
+
+    private static Path writeWthor(Path file, List<byte[]> records) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(16 + 68 * records.size()).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(4, records.size());
+        buf.put(12, (byte) 8);
+        buf.position(16);
+        for (byte[] r : records) buf.put(r);
+        Files.write(file, buf.array());
+        return file;
+    }
+
+    private static String ggfMove(int square) {
+        return square == MoveStack.PASS ? "pa" : "" + (char) ('a' + (square & 7)) + ((square >>> 3) + 1);
+    }
+
+    private static String ggfBoard(Position p) {
+        StringBuilder sb = new StringBuilder("8 ");
+        for (int sq = 0; sq < 64; sq++) {
+            int piece = p.getPiece(sq & 7, sq >>> 3);
+            sb.append(piece == Position.BLACK ? '*' : piece == Position.WHITE ? 'O' : '-');
+        }
+        return sb.append(' ').append(p.getSideToMove() == Position.BLACK ? '*' : 'O').toString();
+    }
+
+    private static String ggfGame(Played game, boolean withBoard) {
+        StringBuilder sb = new StringBuilder("(;GM[Othello]PC[test]");
+        if (withBoard) sb.append("BO[").append(ggfBoard(game.start())).append(']');
+        Position p = game.start();
+        for (int square : game.moves()) {
+            sb.append(p.getSideToMove() == Position.BLACK ? "B[" : "W[").append(ggfMove(square)).append("/0.00]");
+            p = square == MoveStack.PASS ? p.pass() : p.play(square);
+        }
+        return sb.append(";)\n").toString();
+    }
+
+    @Test
+    void wthorGamesAreReplayedAndIllegalOnesRejected() throws IOException {
+        Played normal = play(Position.initial(), 1);
+        Played passing = playWithPass(100);
+        // 첫 수로 a1은 둘 수 없습니다.
+        List<Integer> illegal = new ArrayList<>(normal.moves());
+        illegal.set(0, 0);
+
+        Path file = writeWthor(dir.resolve("test.wtb"),
+                List.of(wthorRecord(normal.moves()), wthorRecord(passing.moves()), wthorRecord(illegal)));
+        ArchiveStats stats = new ArchiveStats(60, 100_000);
+        List<Integer> batchSizes = new ArrayList<>();
+        WthorReader.read(file, 2, batch -> {
+            batchSizes.add(batch.size());
+            stats.addBatch(batch);
+        });
+
+        assertEquals(List.of(2, 1), batchSizes);
+        assertEquals(2, stats.getGames());
+        assertEquals(1, stats.getRejected());
+
+        long[] initial = stats.lookup(Position.initial());
+        assertNotNull(initial);
+        assertEquals(2, initial[0]);
+        long blackWins = (normal.diff() > 0 ? 1 : 0) + (passing.diff() > 0 ? 1 : 0);
+        assertEquals(blackWins, initial[1]);
+
+        // 패스 뒤 국면도 둘 차례가 바뀐 채로 기록됩니다.
+        for (Position p : passing.before()) {
+            long[] counts = stats.lookup(p);
+            assertNotNull(counts, p.toString());
+            assertTrue(counts[0] >= 1);
+        }
+        assertNotNull(stats.lookup(passing.end()));
+        // 시작 배치에서 백이 먼저 두는 국면은 어느 대국에도 없습니다.
+        Position start = Position.initial();
+        assertNull(stats.lookup(Position.of(start.getBlack(), start.getWhite(), Position.WHITE, 0)));
+    }
+
+    @Test
+    void ggfGamesWithPassesCustomStartsAndBadMoves() throws IOException {
+        Played passing = playWithPass(200);
+        // 표준이 아닌 시작 국면: 무작위로 여섯 수 둔 뒤, 백 차례
+        Position custom = Position.initial();
+        Random random = new Random(5);
+        while (custom.getMoveCount() < 6 || custom.getSideToMove() != Position.WHITE) {
+            long legal = custom.legalMoves();
+            for (int n = random.nextInt(Long.bitCount(legal)); n > 0; n--) legal &= legal - 1;
+            custom = custom.play(Long.numberOfTrailingZeros(legal));
+        }
+        custom = Position.of(custom.getBlack(), custom.getWhite(), custom.getSideToMove(), 0);
+        Played fromBoard = play(custom, 7);
+
+        String text = ggfGame(passing, false)
+                + ggfGame(fromBoard, true)
+                + "(;GM[Othello]B[a1]W[c5];)\n"          // 둘 수 없는 수
+                + "(;GM[Go]B[dd];)\n"                   // 오델로가 아닌 대국은 읽지 않습니다
+                + "(;GM[Othello]BO[8 ---- *];)\n";      // 해석할 수 없는 시작 국면
+
+        List<ArchiveStats.Game> games = new ArrayList<>();
+        GgfReader.read(new StringReader(text), 10, games::addAll);
+        assertEquals(3, games.size());
+        assertEquals(custom, games.get(1).start());
+
+        ArchiveStats stats = new ArchiveStats(60, 100_000);
+        stats.addBatch(games);
+        assertEquals(2, stats.getGames());
+        assertEquals(1, stats.getRejected());
+
+        assertEquals(1, stats.lookup(Position.initial())[0]);
+        long[] start = stats.lookup(custom);
+        assertNotNull(start);
+        assertArrayEquals(new long[]{1, fromBoard.diff() > 0 ? 1 : 0, fromBoard.diff() == 0 ? 1 : 0}, start);
+        for (Position p : passing.before()) assertNotNull(stats.lookup(p), p.toString());
+
+        // 초반 트리: 시작 국면에서 실제로 둔 수 하나만 이어집니다.
+        List<long[]> children = stats.children(custom);
+        assertEquals(1, children.size());
+        assertEquals(fromBoard.moves().get(0), (int) children.get(0)[0]);
+    }
+
+    @Test
+    void parsesGgfBoardsAndMoves() {
+        assertEquals(Position.initial(), GgfReader.parseBoard(ggfBoard(Position.initial())));
+        assertNull(GgfReader.parseBoard("10 " + "-".repeat(100) + " *"));
+        assertEquals(2 * 8 + 3, GgfReader.parseMove("D3/1.25/0.01"));
+        assertEquals(MoveStack.PASS, GgfReader.parseMove("pa"));
+        assertEquals(-2, GgfReader.parseMove("z9"));
+    }
+}
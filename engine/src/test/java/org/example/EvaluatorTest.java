@@ -0,0 +1,152 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Evaluator 기본 가중치, 가중치 파일 입출력, EvalTrainer의 릿지 최소제곱을 확인합니다.
+ */
+class EvaluatorTest {
+
+    // 학습 가중치 이전 SearchEngine이 쓰던 칸 가중치 표
+    private static final int[][] SQUARE_WEIGHTS = {
+            {100, -20, 10,  5,  5, 10, -20, 100},
+            {-20, -50, -2, -2, -2, -2, -50, -20},
+            { 10,  -2, -1, -1, -1, -1,  -2,  10},
+            {  5,  -2, -1, -1, -1, -1,  -2,   5},
+            {  5,  -2, -1, -1, -1, -1,  -2,   5},
+            { 10,  -2, -1, -1, -1, -1,  -2,  10},
+            {-20, -50, -2, -2, -2, -2, -50, -20},
+            {100, -20, 10,  5,  5, 10, -20, 100}
+    };
+
+    @TempDir
+    Path dir;
+
+    private static int weightSum(long discs) {
+        int score = 0;
+        while (discs != 0) {
+            int sq = Long.numberOfTrailingZeros(discs);
+            score += SQUARE_WEIGHTS[sq >>> 3][sq & 7];
+            discs &= discs - 1;
+        }
+        return score;
+    }
+
+    /** 무작위로 끝까지 둔 대국들 (패스는 수순에 넣지 않습니다) */
+    private static List<ArchiveStats.Game> randomGames(int count, long seed) {
+        Random random = new Random(seed);
+        List<ArchiveStats.Game> games = new ArrayList<>();
+        for (int g = 0; g < count; g++) {
+            Position p = Position.initial();
+            byte[] moves = new byte[60];
+            int n = 0;
+            while (!p.isTerminal()) {
+                long legal = p.legalMoves();
+                if (legal == 0) {
+                    p = p.pass();
+                    continue;
+                }
+                for (int k = random.nextInt(Long.bitCount(legal)); k > 0; k--) legal &= legal - 1;
+                int square = Long.numberOfTrailingZeros(legal);
+                moves[n++] = (byte) square;
+                p = p.play(square);
+            }
+            games.add(new ArchiveStats.Game(Position.initial(), Arrays.copyOf(moves, n)));
+        }
+        return games;
+    }
+
+    @Test
+    void defaultWeightsReproduceOldSquareTable() {
+        Evaluator evaluator = Evaluator.defaults();
+        int positions = 0;
+        for (ArchiveStats.Game game : randomGames(2000, 1)) {
+            MoveStack board = new MoveStack(game.start());
+            for (byte square : game.moves()) {
+                if (board.legalMoves() == 0) board.makePass();
+                long p = board.getPlayer(), o = board.getOpponent();
+                assertEquals(weightSum(p) - weightSum(o), evaluator.evaluate(p, o), board.toPosition().toString());
+                board.make(square);
+                positions++;
+            }
+        }
+        assertTrue(positions > 100_000, "positions: " + positions);
+    }
+
+    @Test
+    void weightsSurviveSaveAndLoad() throws IOException {
+        Random random = new Random(2);
+        float[] weights = new float[Evaluator.PHASES * Evaluator.FEATURES];
+        for (int i = 0; i < weights.length; i++) weights[i] = (float) random.nextGaussian();
+        Evaluator saved = new Evaluator(weights);
+
+        Path file = dir.resolve("weights.bin");
+        saved.save(file);
+        Evaluator loaded = Evaluator.load(file);
+        assertArrayEquals(weights, loaded.getWeights());
+        Position p = Position.initial().play(2, 3);
+        assertEquals(saved.evaluate(p.getWhite(), p.getBlack()), loaded.evaluate(p.getWhite(), p.getBlack()));
+    }
+
+    @Test
+    void loadRejectsForeignFiles() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> Evaluator.load(file));
+        assertThrows(IllegalArgumentException.class, () -> new Evaluator(new float[3]));
+    }
+
+    @Test
+    void solverRecoversKnownWeights() {
+        int f = Evaluator.FEATURES;
+        Random random = new Random(3);
+        // 대칭 양의 정부호 행렬 A = MᵀM + I 와 알려진 해 x
+        double[] m = new double[f * f];
+        for (int i = 0; i < m.length; i++) m[i] = random.nextGaussian();
+        double[] a = new double[f * f];
+        for (int r = 0; r < f; r++) {
+            for (int c = 0; c < f; c++) {
+                double sum = r == c ? 1 : 0;
+                for (int k = 0; k < f; k++) sum += m[k * f + r] * m[k * f + c];
+                a[r * f + c] = sum;
+            }
+        }
+        double[] x = new double[f];
+        for (int i = 0; i < f; i++) x[i] = random.nextGaussian();
+        double[] b = new double[f];
+        for (int r = 0; r < f; r++) {
+            for (int c = 0; c < f; c++) b[r] += a[r * f + c] * x[c];
+        }
+
+        assertArrayEquals(x, EvalTrainer.solve(a, b), 1e-9);
+    }
+
+    @Test
+    void fitLowersErrorAndRidgeShrinksWeights() {
+        List<ArchiveStats.Game> games = randomGames(3000, 4);
+        EvalTrainer trainer = new EvalTrainer(1_000_000, false, 0);
+        trainer.addBatch(games);
+        assertEquals(games.stream().mapToInt(g -> g.moves().length).sum(), trainer.getSampleCount());
+
+        Evaluator fitted = trainer.fit(1.0);
+        assertTrue(trainer.rmse(fitted) < trainer.rmse(Evaluator.defaults()),
+                trainer.rmse(fitted) + " vs " + trainer.rmse(Evaluator.defaults()));
+
+        // 릿지가 아주 크면 가중치가 0으로 줄어듭니다.
+        for (float w : trainer.fit(1e12).getWeights()) assertEquals(0, w, 1e-3);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * AI 착수 결정. 모델 자체가 아닌 불변 Position만 읽으므로 AI 쓰레드에서 안전하게 호출할 수 있습니다.
+ * 중간/어려움은 로컬 탐색 결과를 그대로 두므로, 진행 상황으로 보여 준 최선수가 실제로 두는 수입니다.
+ */
+public class AIPlayer {
+
+    // 중간 난이도는 이 깊이까지만 읽습니다 (어려움은 시간이 허락하는 만큼).
+    private static final int MEDIUM_DEPTH = 4;
+
+    private final Random random;
+    private final SearchEngine searchEngine;
+
+    public AIPlayer(SearchEngine searchEngine) {
+        this.random = new Random();
+        this.searchEngine = searchEngine;
+    }
+
+    /**
+     * 주어진 국면에서 둘 차례인 AI의 수를 고릅니다.
+     * 중간/어려움은 thinkTimeMs 동안 로컬 탐색을 하며 진행 상황을 알리고, 취소되면 그때까지의 최선수를 반환합니다.
+     */
+    public int[] getBestMove(Position position, GameModel.Difficulty difficulty, long thinkTimeMs,
+                             SearchEngine.ProgressListener listener, BooleanSupplier cancelled) {
+        List<int[]> validMoves = new GameModel(position).getValidMoves();
+        if (validMoves.isEmpty()) return null;
+
+        // 쉬움 난이도는 무작위로 둡니다.
+        if (difficulty == GameModel.Difficulty.EASY) {
+            return validMoves.get(random.nextInt(validMoves.size()));
+        }
+
+        if (difficulty == GameModel.Difficulty.MEDIUM) {
+            return searchEngine.search(position, MEDIUM_DEPTH, thinkTimeMs, cancelled, listener);
+        }
+        return searchEngine.search(position, thinkTimeMs, cancelled, listener);
+    }
+}
@@ -0,0 +1,94 @@
+package org.example;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AI 계산을 전담하는 서비스.
+ * 쓰레드 하나를 재사용하며, 요청마다 세대 번호(generation)를 붙여 취소된 요청의 결과가
+ * 새 게임에 반영되지 않도록 합니다. 콜백은 AI 쓰레드에서 호출되므로 UI 갱신은 호출한 쪽에서
+ * FX 쓰레드로 넘긴 뒤 isCurrent()로 한 번 더 확인해야 합니다.
+ */
+public class AIService {
+
+    public interface Listener {
+        void onProgress(long generation, int depth, int[] bestMove);
+        void onResult(long generation, int[] move);
+        void onError(long generation, Exception e);
+    }
+
+    public interface AnalysisListener {
+        void onScores(long generation, int depth, int[] squares, int[] scores);
+    }
+
+    // 예전에는 Thread.sleep(700)으로 기다리던 시간을 이제 탐색에 씁니다.
+    private static final long THINK_TIME_MS = 700;
+
+    // 착수 탐색과 분석이 같은 쓰레드에서 돌며 치환표를 함께 씁니다.
+    private final SearchEngine searchEngine = new SearchEngine();
+    private final AIPlayer aiPlayer = new AIPlayer(searchEngine);
+    private final AtomicLong generation = new AtomicLong();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ai-worker");
+        t.setDaemon(true);
+        return t;
+    });
+    private Future<?> current;
+
+    /**
+     * 이전 요청을 취소하고 새 요청을 등록합니다. 등록된 요청의 세대 번호를 반환합니다.
+     */
+    public synchronized long requestMove(Position position, GameModel.Difficulty difficulty, Listener listener) {
+        cancel();
+        long gen = generation.get();
+        current = executor.submit(() -> {
+            try {
+                int[] move = aiPlayer.getBestMove(position, difficulty, THINK_TIME_MS,
+                        (depth, best, score) -> {
+                            if (isCurrent(gen)) listener.onProgress(gen, depth, best);
+                        },
+                        () -> !isCurrent(gen));
+                if (isCurrent(gen)) listener.onResult(gen, move);
+            } catch (Exception e) {
+                if (isCurrent(gen)) listener.onError(gen, e);
+            }
+        });
+        return gen;
+    }
+
+    /**
+     * 이전 요청을 취소하고 position의 모든 합법수를 취소될 때까지 계속 분석합니다 (폰더링).
+     * 수가 두어지면 호출한 쪽에서 cancel() 또는 다음 요청으로 바로 멈춥니다.
+     */
+    public synchronized long startAnalysis(Position position, AnalysisListener listener) {
+        cancel();
+        long gen = generation.get();
+        current = executor.submit(() -> searchEngine.analyze(position, () -> !isCurrent(gen),
+                (depth, squares, scores) -> {
+                    if (isCurrent(gen)) listener.onScores(gen, depth, squares, scores);
+                }));
+        return gen;
+    }
+
+    /**
+     * 진행 중인 요청을 취소합니다. 이미 나온 결과도 isCurrent()에서 걸러집니다.
+     */
+    public synchronized void cancel() {
+        generation.incrementAndGet();
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+        }
+    }
+
+    public boolean isCurrent(long gen) {
+        return generation.get() == gen;
+    }
+
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
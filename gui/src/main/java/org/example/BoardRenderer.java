@@ -0,0 +1,191 @@
+package org.example;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 보드 화면을 증분 방식으로 그리는 렌더러.
+ * 직전에 그린 상태를 기억해 두고, 돌이 놓이거나 뒤집힌 칸과 힌트가 바뀐 칸만 다시 그립니다.
+ * 실제 그리기는 노드 기반(NodeBoardRenderer)과 Canvas 기반(CanvasBoardRenderer) 구현이 담당합니다.
+ */
+public abstract class BoardRenderer {
+
+    public interface SquareClickHandler {
+        void onClick(int x, int y);
+    }
+
+    protected static final int SIZE = 8;
+    protected static final Color TILE_LIGHT = Color.web("#228B22");
+    protected static final Color TILE_DARK = Color.web("#006400");
+    protected static final Color HINT_COLOR = Color.rgb(0, 0, 0, 0.2);
+    protected static final double HINT_RADIUS = 10;
+    protected static final Color LABEL_COLOR = Color.WHITE;
+    protected static final Color BEST_LABEL_COLOR = Color.YELLOW;
+
+    private static final long FLIP_NANOS = 250_000_000L;
+
+    protected final int tileSize;
+    private final boolean animateFlips;
+
+    // 마지막으로 그린 상태 (-1 = 아직 그리지 않음)
+    private final int[] shownPiece = new int[SIZE * SIZE];
+    private final boolean[] shownHint = new boolean[SIZE * SIZE];
+    private final boolean[] hintScratch = new boolean[SIZE * SIZE];
+    // 분석 모드의 수별 점수 표시
+    private final String[] shownLabel = new String[SIZE * SIZE];
+    private final String[] labelScratch = new String[SIZE * SIZE];
+    private int bestSquare = -1;
+
+    // 뒤집기 애니메이션 상태 (0 = 진행 중 아님)
+    private final long[] flipStart = new long[SIZE * SIZE];
+    private final int[] flipFrom = new int[SIZE * SIZE];
+    private int activeFlips;
+    private final AnimationTimer flipTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stepFlips(now);
+        }
+    };
+
+    protected BoardRenderer(int tileSize, boolean animateFlips) {
+        this.tileSize = tileSize;
+        this.animateFlips = animateFlips;
+        Arrays.fill(shownPiece, -1);
+    }
+
+    /**
+     * othello.renderer=canvas 이면 Canvas 렌더러를, 아니면 노드 렌더러를 만듭니다.
+     * othello.animation=false 로 뒤집기 애니메이션을 끌 수 있습니다 (고속 재생용).
+     */
+    public static BoardRenderer create(int tileSize) {
+        boolean animate = Boolean.parseBoolean(System.getProperty("othello.animation", "true"));
+        if ("canvas".equalsIgnoreCase(System.getProperty("othello.renderer"))) {
+            return new CanvasBoardRenderer(tileSize, animate);
+        }
+        return new NodeBoardRenderer(tileSize, animate);
+    }
+
+    /** 화면에 붙일 노드 */
+    public abstract Node getView();
+
+    public abstract void setOnSquareClicked(SquareClickHandler handler);
+
+    /**
+     * 한 칸의 현재 상태를 그립니다. discScaleX는 뒤집기 애니메이션 중의 가로 배율(0~1)입니다.
+     * label은 분석 점수(없으면 null)이고, best는 그 칸이 현재 최선 수인지 여부입니다.
+     */
+    protected abstract void drawSquare(int x, int y, int piece, double discScaleX, boolean hint,
+                                       String label, boolean best);
+
+    /**
+     * 새 보드 상태와 힌트 목록({x, y})을 반영합니다. 바뀐 칸만 그립니다.
+     */
+    public void render(Position position, List<int[]> hints) {
+        Arrays.fill(hintScratch, false);
+        if (hints != null) {
+            for (int[] h : hints) hintScratch[h[1] * SIZE + h[0]] = true;
+        }
+
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                int sq = y * SIZE + x;
+                int piece = position.getPiece(x, y);
+                boolean hint = hintScratch[sq];
+                int prev = shownPiece[sq];
+                if (prev == piece && shownHint[sq] == hint) continue;
+
+                shownPiece[sq] = piece;
+                shownHint[sq] = hint;
+
+                if (animateFlips && prev > 0 && piece > 0 && prev != piece) {
+                    startFlip(sq, prev);
+                } else {
+                    if (flipStart[sq] != 0) {
+                        flipStart[sq] = 0;
+                        activeFlips--;
+                    }
+                    drawSquare(x, y, piece, 1.0, hint, shownLabel[sq], sq == bestSquare);
+                }
+            }
+        }
+    }
+
+    /**
+     * 분석 점수를 표시합니다. squares는 점수가 높은 순이며 첫 칸을 최선 수로 강조합니다.
+     * 점수가 바뀐 칸만 다시 그립니다.
+     */
+    public void showEvaluations(int[] squares, int[] scores) {
+        Arrays.fill(labelScratch, null);
+        for (int i = 0; i < squares.length; i++) {
+            labelScratch[squares[i]] = formatScore(scores[i]);
+        }
+        updateLabels(squares.length > 0 ? squares[0] : -1);
+    }
+
+    public void clearEvaluations() {
+        Arrays.fill(labelScratch, null);
+        updateLabels(-1);
+    }
+
+    private void updateLabels(int newBest) {
+        int oldBest = bestSquare;
+        bestSquare = newBest;
+        for (int sq = 0; sq < SIZE * SIZE; sq++) {
+            String label = labelScratch[sq];
+            boolean bestChanged = (sq == oldBest) != (sq == newBest);
+            if (!bestChanged && Objects.equals(label, shownLabel[sq])) continue;
+            shownLabel[sq] = label;
+            if (flipStart[sq] == 0 && shownPiece[sq] >= 0) {
+                drawSquare(sq % SIZE, sq / SIZE, shownPiece[sq], 1.0, shownHint[sq], label, sq == newBest);
+            }
+        }
+    }
+
+    // 탐색 점수를 예상 돌 차이로 표시합니다 (NBoard 출력과 같은 SearchEngine.toDiscs). 끝까지 읽은 점수는 '#'을 붙입니다.
+    private static String formatScore(int score) {
+        double discs = SearchEngine.toDiscs(score);
+        if (Math.abs(score) >= SearchEngine.WIN_SCALE) {
+            return "#" + (discs > 0 ? "+" : "") + (int) discs;
+        }
+        return String.format("%+.1f", discs);
+    }
+
+    private void startFlip(int sq, int from) {
+        if (flipStart[sq] == 0) activeFlips++;
+        flipStart[sq] = System.nanoTime();
+        flipFrom[sq] = from;
+        drawSquare(sq % SIZE, sq / SIZE, from, 1.0, false, null, false);
+        flipTimer.start();
+    }
+
+    private void stepFlips(long now) {
+        for (int sq = 0; sq < SIZE * SIZE && activeFlips > 0; sq++) {
+            if (flipStart[sq] == 0) continue;
+            double t = (double) (now - flipStart[sq]) / FLIP_NANOS;
+            if (t >= 1.0) {
+                flipStart[sq] = 0;
+                activeFlips--;
+                drawSquare(sq % SIZE, sq / SIZE, shownPiece[sq], 1.0, shownHint[sq], shownLabel[sq], sq == bestSquare);
+            } else if (t > 0) {
+                int piece = t < 0.5 ? flipFrom[sq] : shownPiece[sq];
+                drawSquare(sq % SIZE, sq / SIZE, piece, Math.abs(1.0 - 2.0 * t), false, null, false);
+            }
+        }
+        if (activeFlips == 0) flipTimer.stop();
+    }
+
+    protected static Color tileColor(int x, int y) {
+        return (x + y) % 2 == 0 ? TILE_LIGHT : TILE_DARK;
+    }
+
+    protected static Color pieceColor(int piece) {
+        if (piece == 1) return Color.BLACK;
+        if (piece == 2) return Color.WHITE;
+        return Color.TRANSPARENT;
+    }
+}
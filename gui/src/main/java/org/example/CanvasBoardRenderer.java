@@ -0,0 +1,73 @@
+package org.example;
+
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * 보드 전체를 Canvas 하나에 그리는 렌더러.
+ * 노드가 64개에서 1개로 줄어 여러 보드를 띄우거나 고속 재생할 때 유리합니다.
+ */
+class CanvasBoardRenderer extends BoardRenderer {
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+
+    CanvasBoardRenderer(int tileSize, boolean animateFlips) {
+        super(tileSize, animateFlips);
+        canvas = new Canvas(tileSize * SIZE, tileSize * SIZE);
+        gc = canvas.getGraphicsContext2D();
+        gc.setLineWidth(1);
+        gc.setFont(Font.font(null, FontWeight.BOLD, 14));
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+    }
+
+    @Override
+    public Node getView() { return canvas; }
+
+    @Override
+    public void setOnSquareClicked(SquareClickHandler handler) {
+        canvas.setOnMouseClicked(e -> {
+            int x = (int) (e.getX() / tileSize);
+            int y = (int) (e.getY() / tileSize);
+            if (x >= 0 && x < SIZE && y >= 0 && y < SIZE) handler.onClick(x, y);
+        });
+    }
+
+    @Override
+    protected void drawSquare(int x, int y, int piece, double discScaleX, boolean hint,
+                              String label, boolean best) {
+        double left = x * tileSize;
+        double top = y * tileSize;
+        gc.setFill(tileColor(x, y));
+        gc.fillRect(left, top, tileSize, tileSize);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.strokeRect(left + 0.5, top + 0.5, tileSize - 1, tileSize - 1);
+
+        double cx = left + tileSize / 2.0;
+        double cy = top + tileSize / 2.0;
+        if (piece != 0) {
+            double ry = tileSize * 0.4;
+            double rx = ry * discScaleX;
+            gc.setFill(pieceColor(piece));
+            gc.fillOval(cx - rx, cy - ry, rx * 2, ry * 2);
+            gc.setLineWidth(2);
+            gc.strokeOval(cx - rx, cy - ry, rx * 2, ry * 2);
+        }
+        if (hint) {
+            gc.setFill(HINT_COLOR);
+            gc.fillOval(cx - HINT_RADIUS, cy - HINT_RADIUS, HINT_RADIUS * 2, HINT_RADIUS * 2);
+        }
+        if (label != null) {
+            gc.setFill(best ? BEST_LABEL_COLOR : LABEL_COLOR);
+            gc.fillText(label, cx, cy);
+        }
+    }
+}
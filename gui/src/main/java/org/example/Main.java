@@ -6,14 +6,13 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextInputDialog; // 팝업창 클래스 추가
 import javafx.scene.layout.*;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional; // Optional 클래스 추가
 
@@ -24,36 +23,41 @@ public class Main extends Application {
 
     private GameModel gameModel;
     private NetworkClient networkClient;
-    private AIPlayer aiPlayer;
+    private AIService aiService;
     private int myColor = 0;
+    // 분석 모드: 내 차례(상대 차례 포함) 동안 백그라운드에서 수별 점수를 계속 계산합니다.
+    private boolean analysisMode = false;
+    private long analysisGeneration = -1;
 
     private Stage primaryStage;
-    private GridPane boardView;
+    private BoardRenderer boardRenderer;
     private Label scoreLabel;
 
-    private Color getColorForPiece(int piece) {
-        if (piece == 1) return Color.BLACK;
-        if (piece == 2) return Color.WHITE;
-        return Color.TRANSPARENT;
-    }
-
     @Override
     public void start(Stage stage) {
         primaryStage = stage;
         gameModel = new GameModel();
-        aiPlayer = new AIPlayer(gameModel);
+        aiService = new AIService();
 
         showStartMenu();
     }
 
+    @Override
+    public void stop() {
+        aiService.shutdown();
+    }
+
     // --- 1. 메인 메뉴 ---
     private void showStartMenu() {
+        // 메뉴로 나가면 진행 중인 AI 계산 결과는 버립니다.
+        aiService.cancel();
+
         Label title = new Label("오셀로 게임 모드 선택");
         title.setStyle("-fx-font-size: 24px; -fx-padding: 20px;");
 
         Button btnLocal = createMenuButton("1:1 로컬 대전 (F-09)");
         Button btnOnline = createMenuButton("1:1 온라인 대전 (F-10)");
-        Button btnAI = createMenuButton("AI와 대전 (Gemini)");
+        Button btnAI = createMenuButton("AI와 대전");
 
         btnLocal.setOnAction(e -> startGame(GameModel.Mode.LOCAL));
         // 온라인 버튼 클릭 시 IP 입력창 호출
@@ -112,10 +116,12 @@ public class Main extends Application {
 
     // --- 3. 게임 시작 및 화면 구성 ---
     private void startGame(GameModel.Mode mode) {
+        aiService.cancel();
         gameModel.setGameMode(mode);
         gameModel.initializeBoard();
 
-        boardView = createBoardView();
+        boardRenderer = BoardRenderer.create(TILE_SIZE);
+        boardRenderer.setOnSquareClicked(this::handleTileClick);
         scoreLabel = new Label("게임 준비 중...");
         scoreLabel.setStyle("-fx-font-size: 16px; -fx-padding: 10px;");
 
@@ -123,7 +129,22 @@ public class Main extends Application {
         backButton.setOnAction(e -> showStartMenu());
 
         BorderPane mainLayout = new BorderPane();
-        HBox topBar = new HBox(backButton);
+        HBox topBar = new HBox(10, backButton);
+        // 무르기/다시하기는 로컬 대전과 AI 대전에서만 사용합니다.
+        if (mode != GameModel.Mode.ONLINE) {
+            Button undoButton = new Button("무르기");
+            Button redoButton = new Button("다시하기");
+            undoButton.setOnAction(e -> handleUndo());
+            redoButton.setOnAction(e -> handleRedo());
+            topBar.getChildren().addAll(undoButton, redoButton);
+        }
+        CheckBox analysisBox = new CheckBox("분석 모드");
+        analysisBox.setSelected(analysisMode);
+        analysisBox.setOnAction(e -> {
+            analysisMode = analysisBox.isSelected();
+            drawBoard();
+        });
+        topBar.getChildren().add(analysisBox);
         topBar.setAlignment(Pos.CENTER_LEFT);
         topBar.setStyle("-fx-padding: 10px; -fx-background-color: #eee;");
 
@@ -132,7 +153,7 @@ public class Main extends Application {
         bottomBar.setStyle("-fx-padding: 10px; -fx-background-color: #eee;");
 
         mainLayout.setTop(topBar);
-        mainLayout.setCenter(boardView);
+        mainLayout.setCenter(boardRenderer.getView());
         mainLayout.setBottom(bottomBar);
 
         if (mode == GameModel.Mode.AI && gameModel.getCurrentTurn() == gameModel.getAIColor()) {
@@ -140,7 +161,6 @@ public class Main extends Application {
         }
 
         drawBoard();
-        drawValidMoves();
         updateScoreDisplay();
 
         Scene gameScene = new Scene(mainLayout, WIDTH * TILE_SIZE, WIDTH * TILE_SIZE + 100);
@@ -182,21 +202,6 @@ public class Main extends Application {
     }
 
     // --- 5. 게임 로직 ---
-    private GridPane createBoardView() {
-        GridPane gridPane = new GridPane();
-        gridPane.setStyle("-fx-background-color: #228B22;");
-        for (int y = 0; y < WIDTH; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                StackPane stackPane = createTile(x, y);
-                gridPane.add(stackPane, x, y);
-                final int finalX = x;
-                final int finalY = y;
-                stackPane.setOnMouseClicked(e -> handleTileClick(finalX, finalY));
-            }
-        }
-        return gridPane;
-    }
-
     private void handleTileClick(int x, int y) {
         if (gameModel.isGameOver()) {
             showAlert("게임 종료", getWinnerMessage());
@@ -208,9 +213,11 @@ public class Main extends Application {
             if (myColor == 0 || gameModel.getCurrentTurn() != myColor) return;
         }
 
-        boolean flipped = gameModel.placePieceAndFlip(x, y);
+        boolean flipped = gameModel.playMove(x, y);
 
         if (flipped) {
+            // 이전 국면의 분석은 바로 멈춥니다.
+            aiService.cancel();
             if (gameModel.isOnlineMode()) {
                 networkClient.sendMove(x, y);
             }
@@ -224,16 +231,60 @@ public class Main extends Application {
         }
     }
 
+    // AI 대전에서는 AI의 응수까지 물러서 다시 내 차례가 되도록 합니다.
+    private void handleUndo() {
+        aiService.cancel();
+        if (!gameModel.undo()) return;
+        if (gameModel.isAIMode()) {
+            while (gameModel.getCurrentTurn() == gameModel.getAIColor() && gameModel.undo()) {
+                // 내 차례가 될 때까지 계속 무릅니다.
+            }
+        }
+        drawBoard();
+        updateScoreDisplay();
+        if (gameModel.isAIMode() && gameModel.getCurrentTurn() == gameModel.getAIColor()) {
+            Platform.runLater(this::handleAITurn);
+        }
+    }
+
+    private void handleRedo() {
+        aiService.cancel();
+        if (!gameModel.redo()) return;
+        if (gameModel.isAIMode()) {
+            while (gameModel.getCurrentTurn() == gameModel.getAIColor() && gameModel.redo()) {
+                // 내 차례가 될 때까지 계속 다시 둡니다.
+            }
+        }
+        if (gameModel.getPosition().isTerminal()) gameModel.setGameOver(true);
+        drawBoard();
+        updateScoreDisplay();
+        if (gameModel.isAIMode() && !gameModel.isGameOver()
+                && gameModel.getCurrentTurn() == gameModel.getAIColor()) {
+            Platform.runLater(this::handleAITurn);
+        }
+    }
+
     private void handleAITurn() {
         if (gameModel.getCurrentTurn() != gameModel.getAIColor()) return;
 
-        new Thread(() -> {
-            try {
-                Thread.sleep(700);
-                int[] move = aiPlayer.getBestMove(gameModel.getAIDifficulty());
+        // AI 쓰레드에는 불변 Position만 넘기고, 결과는 세대 번호가 유효할 때만 FX 쓰레드에서 반영합니다.
+        aiService.requestMove(gameModel.getPosition(), gameModel.getAIDifficulty(), new AIService.Listener() {
+            @Override
+            public void onProgress(long generation, int depth, int[] bestMove) {
                 Platform.runLater(() -> {
+                    if (!aiService.isCurrent(generation)) return;
+                    updateScoreDisplay();
+                    scoreLabel.setText(scoreLabel.getText() + String.format("  |  AI 생각 중 (깊이 %d: %c%d)",
+                            depth, (char) ('a' + bestMove[0]), bestMove[1] + 1));
+                });
+            }
+
+            @Override
+            public void onResult(long generation, int[] move) {
+                Platform.runLater(() -> {
+                    if (!aiService.isCurrent(generation)) return;
                     if (move != null) {
-                        gameModel.placePieceAndFlip(move[0], move[1]);
+                        gameModel.playMove(move[0], move[1]);
                         updateGameViewAfterMove();
                     } else {
                         gameModel.switchTurn();
@@ -242,30 +293,56 @@ public class Main extends Application {
                         showAlert("AI 패스", "AI가 둘 곳이 없어 패스합니다.");
                     }
                 });
-            } catch (Exception e) {
-                Platform.runLater(() -> showAlert("AI 오류", "오류 발생: " + e.getMessage()));
             }
-        }).start();
+
+            @Override
+            public void onError(long generation, Exception e) {
+                Platform.runLater(() -> {
+                    if (aiService.isCurrent(generation)) showAlert("AI 오류", "오류 발생: " + e.getMessage());
+                });
+            }
+        });
     }
 
+    // playMove가 이미 차례를 넘겼으므로 패스 여부만 확인합니다.
     private void updateGameViewAfterMove() {
-        gameModel.switchTurn();
         checkPassConditions();
         drawBoard();
-        drawValidMoves();
         updateScoreDisplay();
     }
 
     public void processOpponentMove(int x, int y) {
         Platform.runLater(() -> {
-            boolean flipped = gameModel.placePieceAndFlip(x, y);
+            boolean flipped = gameModel.playMove(x, y);
             if (flipped) {
+                aiService.cancel();
                 updateGameViewAfterMove();
                 showAlert("당신의 턴", "상대방이 수를 두었습니다.");
             }
         });
     }
 
+    /**
+     * 서버가 수를 받아들이지 않았을 때, 서버의 수순("d3c5f6" 형식)을 처음부터 다시 두어 보드를 맞춥니다.
+     * 둘 곳이 없는 쪽은 서버와 같은 규칙으로 패스합니다.
+     */
+    public void resyncBoard(String moves) {
+        Platform.runLater(() -> {
+            aiService.cancel();
+            gameModel.initializeBoard();
+            for (int i = 0; i + 1 < moves.length(); i += 2) {
+                if (!gameModel.playMove(moves.charAt(i) - 'a', moves.charAt(i + 1) - '1')) break;
+                if (gameModel.getValidMoves().isEmpty()) {
+                    gameModel.switchTurn();
+                    if (gameModel.getValidMoves().isEmpty()) gameModel.setGameOver(true);
+                }
+            }
+            drawBoard();
+            updateScoreDisplay();
+            showAlert("동기화", "서버가 수를 받아들이지 않아 서버의 국면으로 되돌렸습니다.");
+        });
+    }
+
     public void setPlayerColor(String color) {
         Platform.runLater(() -> {
             gameModel.initializeBoard();
@@ -277,7 +354,6 @@ public class Main extends Application {
                 showAlert("매칭 성공", "당신은 백돌(⚪)입니다. 상대방을 기다리세요.");
             }
             drawBoard();
-            drawValidMoves();
             updateScoreDisplay();
         });
     }
@@ -302,25 +378,12 @@ public class Main extends Application {
         return "무승부!";
     }
 
-    private void drawValidMoves() {
-        for (int y = 0; y < WIDTH; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                StackPane stackPane = (StackPane) boardView.getChildren().get(y * WIDTH + x);
-                stackPane.getChildren().removeIf(node -> node instanceof Circle && node.getStyleClass().contains("valid"));
-            }
-        }
-        if (!gameModel.isGameOver()) {
-            if (gameModel.isOnlineMode() && gameModel.getCurrentTurn() != myColor) return;
-            if (gameModel.isAIMode() && gameModel.getCurrentTurn() == gameModel.getAIColor()) return;
-
-            List<int[]> moves = gameModel.getValidMoves();
-            for (int[] m : moves) {
-                StackPane sp = (StackPane) boardView.getChildren().get(m[1] * WIDTH + m[0]);
-                Circle hint = new Circle(10, Color.rgb(0, 0, 0, 0.2));
-                hint.getStyleClass().add("valid");
-                sp.getChildren().add(hint);
-            }
-        }
+    // 내 차례일 때만 둘 수 있는 칸을 힌트로 표시합니다.
+    private List<int[]> getHintMoves() {
+        if (gameModel.isGameOver()) return Collections.emptyList();
+        if (gameModel.isOnlineMode() && gameModel.getCurrentTurn() != myColor) return Collections.emptyList();
+        if (gameModel.isAIMode() && gameModel.getCurrentTurn() == gameModel.getAIColor()) return Collections.emptyList();
+        return gameModel.getValidMoves();
     }
 
     private void updateScoreDisplay() {
@@ -330,31 +393,30 @@ public class Main extends Application {
         scoreLabel.setText(String.format("Black: %d  |  White: %d  |  Turn: %s", b, w, turn));
     }
 
+    // 바뀐 칸만 다시 그립니다 (BoardRenderer 참고).
     private void drawBoard() {
-        for (int y = 0; y < WIDTH; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                StackPane stackPane = (StackPane) boardView.getChildren().get(y * WIDTH + x);
-                stackPane.getChildren().removeIf(node -> node instanceof Circle);
-                int piece = gameModel.getBoard()[y][x];
-                if (piece != 0) {
-                    stackPane.getChildren().add(createPiece(getColorForPiece(piece)));
-                }
-            }
-        }
+        boardRenderer.clearEvaluations();
+        boardRenderer.render(gameModel.getPosition(), getHintMoves());
+        startAnalysis();
     }
 
-    private StackPane createTile(int x, int y) {
-        Rectangle tile = new Rectangle(TILE_SIZE, TILE_SIZE);
-        tile.setFill((x + y) % 2 == 0 ? Color.web("#228B22") : Color.web("#006400"));
-        tile.setStroke(Color.BLACK);
-        return new StackPane(tile);
-    }
+    /**
+     * 분석 모드이면 현재 국면의 수별 점수를 깊이가 깊어질 때마다 보드에 표시합니다.
+     * AI가 둘 차례에는 AI 탐색이 같은 쓰레드를 쓰므로 분석하지 않습니다.
+     */
+    private void startAnalysis() {
+        if (!analysisMode) {
+            // 진행 중인 AI 착수 계산은 건드리지 않고 분석만 멈춥니다.
+            if (aiService.isCurrent(analysisGeneration)) aiService.cancel();
+            return;
+        }
+        if (gameModel.isGameOver()) return;
+        if (gameModel.isAIMode() && gameModel.getCurrentTurn() == gameModel.getAIColor()) return;
 
-    private Circle createPiece(Color color) {
-        Circle piece = new Circle(TILE_SIZE * 0.4, color);
-        piece.setStroke(Color.BLACK);
-        piece.setStrokeWidth(2);
-        return piece;
+        analysisGeneration = aiService.startAnalysis(gameModel.getPosition(), (generation, depth, squares, scores) ->
+                Platform.runLater(() -> {
+                    if (aiService.isCurrent(generation)) boardRenderer.showEvaluations(squares, scores);
+                }));
     }
 
     private void showAlert(String title, String content) {
@@ -58,6 +58,11 @@ public class NetworkClient extends Thread {
                         int y = Integer.parseInt(parts[2]);
                         gameController.processOpponentMove(x, y);
                     }
+                } else if (serverResponse.startsWith("ERROR")) {
+                    System.err.println("Server rejected: " + serverResponse);
+                } else if (serverResponse.startsWith("SYNC")) {
+                    // 서버가 받아들인 수순으로 보드를 다시 맞춥니다.
+                    gameController.resyncBoard(serverResponse.substring(4).trim());
                 }
             }
         } catch (IOException e) {
@@ -0,0 +1,92 @@
+package org.example;
+
+import javafx.scene.Node;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+/**
+ * 칸마다 StackPane을 두는 렌더러.
+ * 돌과 힌트 Circle, 분석 점수 Text는 처음에 한 번만 만들고, 이후에는 색과 visible만 바꿔서 재사용합니다.
+ */
+class NodeBoardRenderer extends BoardRenderer {
+
+    private final GridPane gridPane = new GridPane();
+    private final StackPane[] tiles = new StackPane[SIZE * SIZE];
+    private final Circle[] discs = new Circle[SIZE * SIZE];
+    private final Circle[] hints = new Circle[SIZE * SIZE];
+    private final Text[] labels = new Text[SIZE * SIZE];
+
+    NodeBoardRenderer(int tileSize, boolean animateFlips) {
+        super(tileSize, animateFlips);
+        gridPane.setStyle("-fx-background-color: #228B22;");
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                int sq = y * SIZE + x;
+                Rectangle tile = new Rectangle(tileSize, tileSize);
+                tile.setFill(tileColor(x, y));
+                tile.setStroke(Color.BLACK);
+
+                Circle disc = new Circle(tileSize * 0.4);
+                disc.setStroke(Color.BLACK);
+                disc.setStrokeWidth(2);
+                disc.setVisible(false);
+
+                Circle hint = new Circle(HINT_RADIUS, HINT_COLOR);
+                hint.setVisible(false);
+
+                Text label = new Text();
+                label.setFont(Font.font(null, FontWeight.BOLD, 14));
+                label.setMouseTransparent(true);
+                label.setVisible(false);
+
+                tiles[sq] = new StackPane(tile, disc, hint, label);
+                discs[sq] = disc;
+                hints[sq] = hint;
+                labels[sq] = label;
+                gridPane.add(tiles[sq], x, y);
+            }
+        }
+    }
+
+    @Override
+    public Node getView() { return gridPane; }
+
+    @Override
+    public void setOnSquareClicked(SquareClickHandler handler) {
+        for (int sq = 0; sq < SIZE * SIZE; sq++) {
+            final int x = sq % SIZE;
+            final int y = sq / SIZE;
+            tiles[sq].setOnMouseClicked(e -> handler.onClick(x, y));
+        }
+    }
+
+    @Override
+    protected void drawSquare(int x, int y, int piece, double discScaleX, boolean hint,
+                              String label, boolean best) {
+        int sq = y * SIZE + x;
+        Circle disc = discs[sq];
+        if (piece != 0) {
+            disc.setFill(pieceColor(piece));
+            disc.setScaleX(discScaleX);
+            disc.setVisible(true);
+        } else {
+            disc.setVisible(false);
+        }
+        hints[sq].setVisible(hint);
+
+        Text text = labels[sq];
+        if (label != null) {
+            text.setText(label);
+            text.setFill(best ? BEST_LABEL_COLOR : LABEL_COLOR);
+            text.setVisible(true);
+        } else {
+            text.setVisible(false);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * 서버 AI 상대(봇)의 착수를 계산하는 전용 쓰레드 풀.
+ * 쓰레드 수가 정해져 있어서, 봇 대국이 많아도 사람 사이의 중계 쓰레드가 CPU를 뺏기지 않습니다.
+ * 쓰레드 우선순위(MIN_PRIORITY)는 Linux HotSpot에서 -XX:ThreadPriorityPolicy 없이는 효과가 없으므로
+ * 중계 쓰레드 보호는 쓰레드 수 제한에 기대며, 우선순위는 지원하는 플랫폼에서의 덤입니다.
+ * 대기열은 마감 시각(사람의 수가 서버에 도착한 시각 + 수당 시간) 순이고, 같으면 들어온 순서입니다.
+ * 방 잠금이나 중계를 기다리느라 요청이 늦게 들어와도 먼저 둔 사람이 먼저 답을 받습니다.
+ * 오래 기다린 요청은 남은 시간만큼만 탐색하므로 한 수의 응답 시간이 수당 시간을 크게 넘지 않습니다.
+ * 봇 쓰레드가 쓴 CPU 시간과 대기열에서 기다린 시간을 모아 metrics()로 보고합니다.
+ */
+public class BotPool {
+
+    // 마감이 지난 요청도 최소한 이만큼은 탐색합니다.
+    private static final long MIN_SEARCH_MS = 10;
+
+    private final ThreadPoolExecutor executor;
+    private final long moveBudgetMs;
+    private final ThreadLocal<SearchEngine> engines = ThreadLocal.withInitial(SearchEngine::new);
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTimeSupported;
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 지표: 구간 값은 metrics()를 부를 때마다 초기화합니다.
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder totalMoves = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public BotPool(int threads, long moveBudgetMs) {
+        this.moveBudgetMs = moveBudgetMs;
+        // PriorityBlockingQueue를 쓰려면 작업이 Comparable이어야 하므로 submit()이 아닌 execute()로만 넣습니다.
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "bot-worker");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+        this.cpuTimeSupported = enableCpuTime();
+    }
+
+    /**
+     * 시스템 프로퍼티 othello.bot.threads(기본 코어 수의 절반), othello.bot.moveMs(기본 500)로 생성합니다.
+     */
+    public static BotPool fromSystemProperties() {
+        int threads = Integer.getInteger("othello.bot.threads",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        long moveMs = Long.getLong("othello.bot.moveMs", 500);
+        return new BotPool(threads, moveMs);
+    }
+
+    private boolean enableCpuTime() {
+        try {
+            if (!threadBean.isCurrentThreadCpuTimeSupported()) return false;
+            if (!threadBean.isThreadCpuTimeEnabled()) threadBean.setThreadCpuTimeEnabled(true);
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * position에서 둘 수를 계산해 onMove({x, y})로 넘깁니다. 둘 곳이 없거나 도중에 cancelled가 되면 부르지 않습니다.
+     * requestedAt(System.nanoTime())은 봇 차례를 만든 사람의 수가 도착한 시각이며, 마감 시각과 대기 시간의 기준입니다.
+     */
+    public void requestMove(Position position, long requestedAt, BooleanSupplier cancelled, Consumer<int[]> onMove) {
+        executor.execute(new Task(position, requestedAt, cancelled, onMove));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final class Task implements Runnable, Comparable<Task> {
+        private final Position position;
+        private final BooleanSupplier cancelled;
+        private final Consumer<int[]> onMove;
+        private final long requestedAt;
+        private final long deadline;
+        private final long seq = sequence.getAndIncrement();
+
+        Task(Position position, long requestedAt, BooleanSupplier cancelled, Consumer<int[]> onMove) {
+            this.position = position;
+            this.requestedAt = requestedAt;
+            this.deadline = requestedAt + moveBudgetMs * 1_000_000L;
+            this.cancelled = cancelled;
+            this.onMove = onMove;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int c = Long.compare(deadline - other.deadline, 0);
+            return c != 0 ? c : Long.compare(seq, other.seq);
+        }
+
+        @Override
+        public void run() {
+            // 방이 닫혀 취소된 요청은 계산하지 않으며 지표에도 넣지 않습니다.
+            if (cancelled.getAsBoolean()) return;
+            long start = System.nanoTime();
+            long wait = start - requestedAt;
+            moves.increment();
+            waitNanos.add(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+
+            long cpuStart = cpuTime();
+            int[] move;
+            try {
+                long budgetMs = Math.max(MIN_SEARCH_MS, (deadline - start) / 1_000_000L);
+                move = engines.get().search(position, budgetMs, cancelled, null);
+            } finally {
+                cpuNanos.add(cpuTime() - cpuStart);
+            }
+            if (move == null || cancelled.getAsBoolean()) return;
+            try {
+                onMove.accept(move);
+            } catch (RuntimeException e) {
+                System.err.println("Bot move delivery failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private long cpuTime() {
+        return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * 지난 호출 이후 구간의 지표 한 줄 (대기열 길이, 계산 중인 수, 처리한 수, 봇 CPU 시간, 대기 시간).
+     */
+    public String metrics() {
+        long n = moves.sumThenReset();
+        totalMoves.add(n);
+        long cpu = cpuNanos.sumThenReset();
+        long wait = waitNanos.sumThenReset();
+        long maxWait = maxWaitNanos.getAndSet(0);
+        return String.format("bots: queue %d, running %d, moves %d (total %d), cpu %s, wait avg %.1f ms / max %.1f ms",
+                executor.getQueue().size(), executor.getActiveCount(), n, totalMoves.sum(),
+                cpuTimeSupported ? (cpu / 1_000_000) + " ms" : "n/a",
+                n == 0 ? 0.0 : wait / 1e6 / n, maxWait / 1e6);
+    }
+}
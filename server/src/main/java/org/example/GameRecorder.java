@@ -0,0 +1,434 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 대국 결과(점수, 승패 통계, 기보)를 MySQL에 비동기로 저장하는 클래스.
+ * 중계 쓰레드는 큐에 넣기만 하고, 별도의 writer 쓰레드가 JDBC 배치 INSERT로 기록합니다.
+ * DB에 접속할 수 없으면 재시도 후 로컬 파일로 흘려 두었다가, 다음 성공 시 다시 기록합니다.
+ * 대국마다 내용으로 만든 고유 키(game_key)가 있어, 같은 대국을 다시 기록해도 한 번만 저장되고 통계도 한 번만 셉니다.
+ */
+public class GameRecorder {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int BATCH_SIZE = 64;
+    private static final int WRITER_THREADS = 2;
+    private static final int MAX_RETRIES = 4;
+    private static final long INITIAL_BACKOFF_MS = 200;
+
+    private static final String CREATE_GAMES =
+            "CREATE TABLE IF NOT EXISTS games ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, game_key CHAR(64) NOT NULL, room_id INT NOT NULL, "
+                    + "black_player VARCHAR(64) NOT NULL, white_player VARCHAR(64) NOT NULL, "
+                    + "black_score TINYINT NOT NULL, white_score TINYINT NOT NULL, "
+                    + "winner TINYINT NOT NULL, moves VARCHAR(192) NOT NULL, finished_at TIMESTAMP NOT NULL, "
+                    + "CONSTRAINT uk_games_game_key UNIQUE (game_key))";
+    // game_key가 없던 예전 테이블은 열과 고유 인덱스를 추가합니다 (예전 행은 NULL로 남습니다).
+    private static final String ADD_GAME_KEY = "ALTER TABLE games ADD COLUMN game_key CHAR(64)";
+    private static final String ADD_GAME_KEY_INDEX = "CREATE UNIQUE INDEX uk_games_game_key ON games (game_key)";
+    private static final String CREATE_STATS =
+            "CREATE TABLE IF NOT EXISTS player_stats ("
+                    + "player VARCHAR(64) PRIMARY KEY, wins INT NOT NULL, losses INT NOT NULL, draws INT NOT NULL)";
+    private static final String INSERT_GAME =
+            "INSERT INTO games (game_key, room_id, black_player, white_player, black_score, white_score, winner, moves, finished_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPSERT_STATS =
+            "INSERT INTO player_stats (player, wins, losses, draws) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE wins = wins + VALUES(wins), "
+                    + "losses = losses + VALUES(losses), draws = draws + VALUES(draws)";
+
+    /**
+     * 저장할 한 판의 결과. moves는 "d3c5f6..." 형식의 기보입니다.
+     */
+    public record GameRecord(int roomId, String blackPlayer, String whitePlayer,
+                             int blackScore, int whiteScore, String moves, long finishedAt) {
+
+        /** 1 = 흑 승, 2 = 백 승, 0 = 무승부 */
+        public int winner() {
+            if (blackScore > whiteScore) return 1;
+            if (whiteScore > blackScore) return 2;
+            return 0;
+        }
+
+        /** 기록 내용의 SHA-256 (16진수 64자). 같은 대국을 다시 기록할 때 중복을 가려냅니다. */
+        public String gameKey() {
+            try {
+                MessageDigest sha = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(sha.digest(toLine().getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        String toLine() {
+            return roomId + "\t" + blackPlayer + "\t" + whitePlayer + "\t"
+                    + blackScore + "\t" + whiteScore + "\t" + moves + "\t" + finishedAt;
+        }
+
+        static GameRecord fromLine(String line) {
+            String[] f = line.split("\t", -1);
+            return new GameRecord(Integer.parseInt(f[0]), f[1], f[2],
+                    Integer.parseInt(f[3]), Integer.parseInt(f[4]), f[5], Long.parseLong(f[6]));
+        }
+    }
+
+    /** 커넥션을 새로 여는 방법. 기본은 DriverManager이며, 테스트에서는 장애를 흉내 낼 때 바꿔 끼웁니다. */
+    interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final BlockingQueue<GameRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ConnectionPool pool;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running = true;
+    private volatile boolean schemaReady;
+
+    public GameRecorder(String jdbcUrl, String user, String password, Path spillFile) {
+        this(() -> DriverManager.getConnection(withBatchRewrite(jdbcUrl), user, password), spillFile);
+    }
+
+    GameRecorder(ConnectionFactory factory, Path spillFile) {
+        this.pool = new ConnectionPool(factory, WRITER_THREADS);
+        this.spillFile = spillFile;
+        this.replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+    }
+
+    /**
+     * 시스템 프로퍼티(othello.db.url, othello.db.user, othello.db.password)로 생성합니다.
+     * URL이 없으면 저장 기능을 끄고 null을 반환합니다.
+     */
+    public static GameRecorder fromSystemProperties() {
+        String url = System.getProperty("othello.db.url");
+        if (url == null || url.isBlank()) return null;
+        return new GameRecorder(url,
+                System.getProperty("othello.db.user", "root"),
+                System.getProperty("othello.db.password", ""),
+                Paths.get(System.getProperty("othello.db.spill", "game-records.spill")));
+    }
+
+    public void start() {
+        recoverReplayFile();
+        for (int i = 0; i < WRITER_THREADS; i++) {
+            Thread t = new Thread(this::writerLoop, "game-recorder-" + i);
+            t.setDaemon(true);
+            t.start();
+            writers.add(t);
+        }
+    }
+
+    /**
+     * 결과를 큐에 넣습니다. 중계 쓰레드를 막지 않도록 큐가 가득 차면 바로 파일로 흘립니다.
+     */
+    public void submit(GameRecord record) {
+        if (!running || !queue.offer(record)) {
+            spill(List.of(record));
+        }
+    }
+
+    /**
+     * 남은 큐를 모두 기록한 뒤 writer와 커넥션을 정리합니다.
+     */
+    public void shutdown() {
+        running = false;
+        for (Thread t : writers) {
+            try {
+                t.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<GameRecord> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) spill(rest);
+        pool.close();
+    }
+
+    public int getQueueSize() { return queue.size(); }
+
+    private void writerLoop() {
+        List<GameRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                GameRecord first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+
+                if (writeWithRetry(batch)) {
+                    replaySpill();
+                } else {
+                    spill(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 테이블 생성도 기록과 같은 재시도 안에서 합니다 (DB가 늦게 살아나도 스키마부터 만듭니다).
+    private void ensureSchema(Connection conn) throws SQLException {
+        if (schemaReady) return;
+        try (Statement st = conn.createStatement()) {
+            st.execute(CREATE_GAMES);
+            st.execute(CREATE_STATS);
+        }
+        if (!hasGameKey(conn)) {
+            try (Statement st = conn.createStatement()) {
+                st.execute(ADD_GAME_KEY);
+                st.execute(ADD_GAME_KEY_INDEX);
+            }
+        }
+        schemaReady = true;
+    }
+
+    private static boolean hasGameKey(Connection conn) {
+        try (Statement st = conn.createStatement()) {
+            st.executeQuery("SELECT game_key FROM games WHERE 1 = 0").close();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean writeWithRetry(List<GameRecord> batch) throws InterruptedException {
+        long backoff = INITIAL_BACKOFF_MS;
+        for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+            Connection conn = null;
+            try {
+                conn = pool.borrow();
+                ensureSchema(conn);
+                writeBatch(conn, batch);
+                pool.release(conn);
+                return true;
+            } catch (SQLException e) {
+                pool.discard(conn);
+                System.err.println("결과 저장 실패 (" + (attempt + 1) + "회): " + e.getMessage());
+                if (attempt < MAX_RETRIES) {
+                    Thread.sleep(backoff);
+                    backoff *= 2;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void writeBatch(Connection conn, List<GameRecord> batch) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement games = conn.prepareStatement(INSERT_GAME);
+             PreparedStatement stats = conn.prepareStatement(UPSERT_STATS)) {
+            // 이미 기록된 대국(스필 재기록 중 중단 등)은 대국과 통계 모두 건너뜁니다.
+            Set<String> written = existingKeys(conn, batch);
+            int added = 0;
+            for (GameRecord r : batch) {
+                String key = r.gameKey();
+                if (!written.add(key)) continue;
+                games.setString(1, key);
+                games.setInt(2, r.roomId());
+                games.setString(3, r.blackPlayer());
+                games.setString(4, r.whitePlayer());
+                games.setInt(5, r.blackScore());
+                games.setInt(6, r.whiteScore());
+                games.setInt(7, r.winner());
+                games.setString(8, r.moves());
+                games.setTimestamp(9, new Timestamp(r.finishedAt()));
+                games.addBatch();
+
+                addStats(stats, r.blackPlayer(), r.winner(), 1);
+                addStats(stats, r.whitePlayer(), r.winner(), 2);
+                added++;
+            }
+            if (added > 0) {
+                games.executeBatch();
+                stats.executeBatch();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static Set<String> existingKeys(Connection conn, List<GameRecord> batch) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT game_key FROM games WHERE game_key IN (");
+        for (int i = 0; i < batch.size(); i++) sql.append(i == 0 ? "?" : ", ?");
+        sql.append(')');
+        Set<String> keys = new HashSet<>();
+        try (PreparedStatement st = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < batch.size(); i++) st.setString(i + 1, batch.get(i).gameKey());
+            try (ResultSet rs = st.executeQuery()) {
+                while (rs.next()) keys.add(rs.getString(1));
+            }
+        }
+        return keys;
+    }
+
+    private void addStats(PreparedStatement stats, String player, int winner, int color) throws SQLException {
+        stats.setString(1, player);
+        stats.setInt(2, winner == color ? 1 : 0);
+        stats.setInt(3, winner != 0 && winner != color ? 1 : 0);
+        stats.setInt(4, winner == 0 ? 1 : 0);
+        stats.addBatch();
+    }
+
+    // --- 로컬 파일 스필 ---
+
+    private synchronized void spill(List<GameRecord> records) {
+        try (BufferedWriter w = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (GameRecord r : records) {
+                w.write(r.toLine());
+                w.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("스필 파일 기록 실패, 결과 " + records.size() + "건 유실: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 시작할 때 지난 실행이 남긴 재기록 파일(.replay)이 있으면 스필 파일 내용을 그 뒤에 합칩니다.
+     * 합친 파일은 다음 기록 성공 때 처음부터 다시 기록하며, 이미 저장된 대국은 game_key로 걸러집니다.
+     */
+    private synchronized void recoverReplayFile() {
+        if (!Files.exists(replayFile) || !Files.exists(spillFile)) return;
+        try {
+            Files.write(replayFile, Files.readAllBytes(spillFile), StandardOpenOption.APPEND);
+            Files.delete(spillFile);
+        } catch (IOException e) {
+            System.err.println("남은 재기록 파일 병합 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * DB가 다시 살아나면 스필 파일을 재기록 파일로 옮겨 배치로 다시 기록합니다.
+     * 재기록 파일이 이미 있으면(이전 시도가 중간에 멈춤) 그것부터 이어서 기록합니다.
+     * 기록에 실패하면 파일을 그대로 두고 다음 성공 때 다시 시도합니다. 해석할 수 없는 줄은 건너뜁니다.
+     */
+    private void replaySpill() throws InterruptedException {
+        if (!replaying.compareAndSet(false, true)) return;
+        try {
+            synchronized (this) {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile)) return;
+                    try {
+                        Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            }
+            if (replayFile(replayFile)) {
+                Files.deleteIfExists(replayFile);
+            }
+        } catch (IOException e) {
+            System.err.println("스필 파일 재기록 실패: " + e.getMessage());
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    // 파일 전체를 기록하면 true. DB 오류로 멈추면 false (파일은 다음에 처음부터 다시 기록)
+    private boolean replayFile(Path file) throws IOException, InterruptedException {
+        List<GameRecord> batch = new ArrayList<>(BATCH_SIZE);
+        int lineNo = 0;
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                try {
+                    batch.add(GameRecord.fromLine(line));
+                } catch (RuntimeException e) {
+                    System.err.println("스필 파일 " + lineNo + "번째 줄을 해석할 수 없어 건너뜁니다: " + line);
+                    continue;
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    if (!writeWithRetry(batch)) return false;
+                    batch.clear();
+                }
+            }
+        }
+        return batch.isEmpty() || writeWithRetry(batch);
+    }
+
+    // MySQL 드라이버에서만 배치 INSERT를 여러 행 INSERT 하나로 합치도록 합니다.
+    private static String withBatchRewrite(String url) {
+        if (!url.startsWith("jdbc:mysql:") || url.contains("rewriteBatchedStatements")) return url;
+        return url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+    }
+
+    /**
+     * writer 쓰레드 수만큼의 커넥션을 재사용하는 작은 풀.
+     */
+    private static class ConnectionPool {
+        private final ConnectionFactory factory;
+        private final BlockingQueue<Connection> idle;
+
+        ConnectionPool(ConnectionFactory factory, int size) {
+            this.factory = factory;
+            this.idle = new ArrayBlockingQueue<>(size);
+        }
+
+        Connection borrow() throws SQLException {
+            Connection conn;
+            while ((conn = idle.poll()) != null) {
+                if (conn.isValid(1)) return conn;
+                closeQuietly(conn);
+            }
+            return factory.open();
+        }
+
+        void release(Connection conn) {
+            if (conn != null && !idle.offer(conn)) closeQuietly(conn);
+        }
+
+        void discard(Connection conn) {
+            if (conn != null) closeQuietly(conn);
+        }
+
+        void close() {
+            Connection conn;
+            while ((conn = idle.poll()) != null) closeQuietly(conn);
+        }
+
+        private static void closeQuietly(Connection conn) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {}
+        }
+    }
+}
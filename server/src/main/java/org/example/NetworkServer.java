@@ -0,0 +1,334 @@
+package org.example;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * F-10, F-11: 온라인 대전을 위한 서버 클래스 (백엔드 역할).
+ */
+public class NetworkServer {
+
+    private static final int PORT = 8080;
+    private static List<ClientHandler> waitingClients = new ArrayList<>();
+    private static List<GameRoom> activeRooms = new ArrayList<>();
+    // 접속마다 중계 쓰레드 하나 (ClientHandler는 연결이 끊길 때까지 쓰레드를 잡고 있으므로 크기를 제한하지 않습니다)
+    private static ExecutorService pool = Executors.newCachedThreadPool();
+    // 대국 결과 비동기 저장 (othello.db.url 이 없으면 null)
+    private static GameRecorder recorder = GameRecorder.fromSystemProperties();
+
+    // 상대가 없으면 이 시간(othello.bot.waitMs, 기본 10초) 뒤에 봇을 앉힙니다. 음수면 봇을 쓰지 않습니다.
+    private static final long BOT_WAIT_MS = Long.getLong("othello.bot.waitMs", 10_000);
+    // 동시에 진행할 수 있는 봇 대국 수 (othello.bot.maxGames). 넘으면 사람은 계속 기다립니다.
+    private static final int MAX_BOT_GAMES = Integer.getInteger("othello.bot.maxGames", 200);
+    private static final long METRICS_INTERVAL_SEC = Long.getLong("othello.metrics.sec", 60);
+    private static final BotPool bots = BOT_WAIT_MS >= 0 ? BotPool.fromSystemProperties() : null;
+    private static final AtomicInteger botGames = new AtomicInteger();
+    // 봇 착석 타이머와 주기적인 지표 출력용
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "server-scheduler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public static void main(String[] args) {
+        System.out.println("Othello Game Server is running on port " + PORT + "...");
+        if (recorder != null) {
+            recorder.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::shutdown));
+        }
+        if (METRICS_INTERVAL_SEC > 0) {
+            scheduler.scheduleAtFixedRate(NetworkServer::printMetrics,
+                    METRICS_INTERVAL_SEC, METRICS_INTERVAL_SEC, TimeUnit.SECONDS);
+        }
+        try (ServerSocket serverSocket = new ServerSocket(PORT)) {
+            while (true) {
+                // F-10: 클라이언트의 연결 요청을 대기
+                Socket clientSocket = serverSocket.accept();
+                System.out.println("New client connected: " + clientSocket.getInetAddress().getHostAddress());
+
+                ClientHandler newClient = new ClientHandler(clientSocket);
+                pool.execute(newClient);
+
+                matchPlayers(newClient);
+            }
+        } catch (IOException e) {
+            System.err.println("Server exception: " + e.getMessage());
+            // 서버 종료 시 풀도 종료
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * F-10: 매칭 로직 (아주 간단한 1:1 매칭)
+     */
+    private static synchronized void matchPlayers(ClientHandler newClient) {
+        try {
+            // 쓰레드가 완전히 시작될 때까지 잠시 대기
+            Thread.sleep(500);
+        } catch (InterruptedException ignored) {}
+
+        if (newClient.isValid() && !waitingClients.contains(newClient)) {
+            if (!waitingClients.isEmpty()) {
+                ClientHandler player1 = waitingClients.remove(0);
+                GameRoom room = new GameRoom(player1, newClient);
+                activeRooms.add(room);
+                System.out.println("--- Match Found: Room " + room.getId() + " created. ---");
+                room.startGame();
+            } else {
+                waitingClients.add(newClient);
+                System.out.println("Client waiting for opponent. Current queue: 1");
+                scheduleBot(newClient);
+            }
+        }
+    }
+
+    private static void scheduleBot(ClientHandler client) {
+        if (bots == null) return;
+        scheduler.schedule(() -> seatBot(client), BOT_WAIT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 기다리던 클라이언트에게 아직 상대가 없으면 봇을 백으로 앉혀 대국을 시작합니다.
+     */
+    private static synchronized void seatBot(ClientHandler client) {
+        // 그 사이 다른 사람과 매칭되었거나 접속을 끊었습니다.
+        if (!waitingClients.contains(client)) return;
+        if (botGames.get() >= MAX_BOT_GAMES) {
+            scheduleBot(client);
+            return;
+        }
+        waitingClients.remove(client);
+        botGames.incrementAndGet();
+        GameRoom room = new GameRoom(client, new BotSeat());
+        activeRooms.add(room);
+        System.out.println("--- No opponent after " + BOT_WAIT_MS + " ms: Room " + room.getId() + " created with a bot. ---");
+        room.startGame();
+    }
+
+    private static synchronized void removeWaiting(ClientHandler client) {
+        waitingClients.remove(client);
+    }
+
+    private static synchronized void removeRoom(GameRoom room) {
+        activeRooms.remove(room);
+    }
+
+    private static void printMetrics() {
+        int rooms, waiting;
+        synchronized (NetworkServer.class) {
+            rooms = activeRooms.size();
+            waiting = waitingClients.size();
+        }
+        System.out.println("[metrics] rooms " + rooms + " (bot " + botGames.get() + "), waiting " + waiting
+                + (bots != null ? " | " + bots.metrics() : ""));
+    }
+
+    /**
+     * 방의 한 자리. 접속한 클라이언트(ClientHandler) 또는 서버가 두는 봇(BotSeat)입니다.
+     */
+    private interface Seat {
+        void sendMessage(String message);
+        String getPlayerName();
+        void setRoom(GameRoom room);
+    }
+
+    /**
+     * 서버가 직접 두는 AI 상대. 메시지는 받지 않고, 자기 차례가 되면 방의 국면으로 봇 풀에 수 계산을 맡깁니다.
+     */
+    private static class BotSeat implements Seat {
+        private GameRoom room;
+
+        @Override
+        public void sendMessage(String message) { }
+        @Override
+        public String getPlayerName() { return "bot"; }
+        @Override
+        public void setRoom(GameRoom room) { this.room = room; }
+
+        void requestMove(Position position, long requestedAt) {
+            bots.requestMove(position, requestedAt, room::isClosed,
+                    move -> room.broadcastMove(this, "MOVE " + move[0] + " " + move[1], System.nanoTime()));
+        }
+    }
+
+    /**
+     * 게임 방 관리 클래스.
+     */
+    private static class GameRoom {
+        private static int nextRoomId = 1;
+        private final int id;
+        private Seat player1; // Black
+        private Seat player2; // White
+        // 결과 기록과 봇 차례 판단을 위해 서버에서도 수를 재생합니다.
+        private final GameModel model = new GameModel();
+        private final StringBuilder moves = new StringBuilder();
+        private volatile boolean closed;
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        public GameRoom(Seat p1, Seat p2) {
+            this.id = nextRoomId++;
+            this.player1 = p1;
+            this.player2 = p2;
+            player1.setRoom(this);
+            player2.setRoom(this);
+        }
+
+        public int getId() { return id; }
+        public boolean isClosed() { return closed; }
+
+        // F-11: 상대방에게 수를 중계합니다.
+        // receivedAt: 수가 서버에 도착한 시각 (System.nanoTime()). 이어지는 봇 계산의 마감 시각 기준입니다.
+        public void broadcastMove(Seat sender, String moveData, long receivedAt) {
+            // 서버 모델에 적용되지 않은 수(차례가 아니거나 둘 수 없는 곳)는 누가 보냈든 중계하지 않습니다.
+            // 중계하면 서버의 국면이 어긋나 대국이 끝나지도, 기록되지도 않습니다.
+            if (!recordMove(sender, moveData, receivedAt)) {
+                sender.sendMessage("ERROR invalid move: " + moveData);
+                // 클라이언트는 이미 자기 보드에 두었으므로, 서버의 수순을 보내 그 국면으로 되돌리게 합니다.
+                sender.sendMessage("SYNC " + movesSoFar());
+                return;
+            }
+            if (sender == player1) {
+                player2.sendMessage(moveData);
+            } else if (sender == player2) {
+                player1.sendMessage(moveData);
+            }
+            if (isGameOver()) end();
+        }
+
+        public synchronized void startGame() {
+            // 흑돌(Player1)에게는 'START_BLACK', 백돌(Player2)에게는 'START_WHITE' 메시지를 보냅니다.
+            player1.sendMessage("START_BLACK");
+            player2.sendMessage("START_WHITE");
+            requestBotMove(System.nanoTime());
+        }
+
+        /** 플레이어가 접속을 끊으면 방을 닫습니다. 진행 중인 봇 계산도 취소됩니다. */
+        public void leave() {
+            closed = true;
+            end();
+        }
+
+        // 방이 끝날 때 한 번만 정리합니다.
+        private void end() {
+            if (!ended.compareAndSet(false, true)) return;
+            if (player2 instanceof BotSeat) botGames.decrementAndGet();
+            removeRoom(this);
+        }
+
+        private synchronized boolean isGameOver() { return model.isGameOver(); }
+        // 지금까지 적용된 수순 (예: "d3c5f6", 패스는 적지 않음)
+        private synchronized String movesSoFar() { return moves.toString(); }
+
+        // 둘 차례가 봇이면 수 계산을 요청합니다. 수가 적용될 때마다 방 잠금 안에서 한 번만 부릅니다.
+        private synchronized void requestBotMove(long requestedAt) {
+            if (closed || model.isGameOver()) return;
+            Seat toMove = model.getCurrentTurn() == Position.BLACK ? player1 : player2;
+            if (toMove instanceof BotSeat bot) bot.requestMove(model.getPosition(), requestedAt);
+        }
+
+        /**
+         * 둘 차례인 쪽이 보낸 "MOVE x y" 를 규칙대로 적용하고, 대국이 끝나면 결과를 기록기에 넘깁니다.
+         * 둘 곳이 없는 쪽은 클라이언트가 별도 메시지 없이 패스하므로 여기서도 턴을 다시 넘겨 맞춥니다.
+         * 적용한 뒤 둘 차례가 봇이면 바로 수 계산을 요청합니다.
+         */
+        private synchronized boolean recordMove(Seat sender, String moveData, long receivedAt) {
+            if (model.isGameOver()) return false;
+            String[] parts = moveData.split(" ");
+            if (parts.length != 3 || !parts[0].equals("MOVE")) return false;
+            int x, y;
+            try {
+                x = Integer.parseInt(parts[1]);
+                y = Integer.parseInt(parts[2]);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+
+            Seat toMove = model.getCurrentTurn() == Position.BLACK ? player1 : player2;
+            if (sender != toMove || !model.playMove(x, y)) return false;
+            moves.append((char) ('a' + x)).append(y + 1);
+
+            if (model.getValidMoves().isEmpty()) {
+                model.switchTurn();
+                if (model.getValidMoves().isEmpty()) {
+                    model.setGameOver(true);
+                    if (recorder != null) {
+                        recorder.submit(new GameRecorder.GameRecord(id,
+                                player1.getPlayerName(), player2.getPlayerName(),
+                                model.getScore(1), model.getScore(2),
+                                moves.toString(), System.currentTimeMillis()));
+                    }
+                }
+            }
+            requestBotMove(receivedAt);
+            return true;
+        }
+    }
+
+    /**
+     * 클라이언트와의 개별 통신을 처리하는 핸들러.
+     */
+    private static class ClientHandler implements Runnable, Seat {
+        private Socket socket;
+        private GameRoom room;
+        private BufferedReader in;
+        private PrintWriter out;
+        private volatile boolean connected = true;
+
+        public ClientHandler(Socket socket) {
+            this.socket = socket;
+            try {
+                in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+                out = new PrintWriter(socket.getOutputStream(), true);
+            } catch (IOException e) {
+                connected = false;
+            }
+        }
+
+        public boolean isValid() { return connected; }
+        // 로그인 기능이 없으므로 접속 주소를 플레이어 식별자로 사용합니다.
+        @Override
+        public String getPlayerName() { return socket.getInetAddress().getHostAddress(); }
+        @Override
+        public void setRoom(GameRoom room) { this.room = room; }
+
+        @Override
+        public void sendMessage(String message) {
+            if (connected) {
+                out.println(message);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!connected) return;
+            try {
+                String inputLine;
+                while ((inputLine = in.readLine()) != null) {
+                    if (room != null) {
+                        // F-11: 받은 수를 같은 방의 상대방에게 중계합니다.
+                        room.broadcastMove(this, inputLine, System.nanoTime());
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Client disconnected: " + socket.getInetAddress().getHostAddress());
+            } finally {
+                // 자원 정리
+                try {
+                    socket.close();
+                } catch (IOException ignored) {}
+                connected = false;
+                removeWaiting(this);
+                if (room != null) room.leave();
+            }
+        }
+    }
+}
\ No newline at end of file
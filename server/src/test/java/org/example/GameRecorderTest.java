@@ -0,0 +1,162 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GameRecorder의 배치 기록, 재시도, 스필 파일과 재기록을 H2(MySQL 호환 모드)로 확인합니다.
+ */
+class GameRecorderTest {
+
+    private static final AtomicInteger DB_ID = new AtomicInteger();
+
+    @TempDir
+    Path dir;
+
+    /** 처음 failures번은 접속에 실패하고, 이후에는 H2 커넥션을 엽니다. commit 횟수를 셉니다. */
+    private static class TestFactory implements GameRecorder.ConnectionFactory {
+        final String url = "jdbc:h2:mem:recorder" + DB_ID.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        final AtomicInteger failures;
+        final AtomicInteger commits = new AtomicInteger();
+
+        TestFactory(int failures) {
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public Connection open() throws SQLException {
+            if (failures.getAndDecrement() > 0) throw new SQLException("DB 장애 (테스트)");
+            Connection conn = DriverManager.getConnection(url);
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("commit")) commits.incrementAndGet();
+                        try {
+                            return method.invoke(conn, args);
+                        } catch (java.lang.reflect.InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        long count(String sql) throws SQLException {
+            try (Connection conn = DriverManager.getConnection(url);
+                 Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery(sql)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static GameRecorder.GameRecord record(int i) {
+        // 짝수는 흑 승, 홀수는 백 승
+        return new GameRecorder.GameRecord(i, "p" + i, "bot",
+                i % 2 == 0 ? 40 : 20, i % 2 == 0 ? 24 : 44, "d3c5f6", 1_700_000_000_000L + i);
+    }
+
+    @Test
+    void writesQueuedGamesInBatches() throws SQLException {
+        TestFactory db = new TestFactory(0);
+        GameRecorder recorder = new GameRecorder(db, dir.resolve("games.spill"));
+        for (int i = 0; i < 200; i++) recorder.submit(record(i));
+        recorder.start();
+        recorder.shutdown();
+
+        assertEquals(200, db.count("SELECT COUNT(*) FROM games"));
+        assertEquals(100, db.count("SELECT SUM(wins) FROM player_stats WHERE player = 'bot'"));
+        assertEquals(100, db.count("SELECT SUM(losses) FROM player_stats WHERE player = 'bot'"));
+        // 한 판씩 커밋했다면 200번이어야 합니다.
+        assertTrue(db.commits.get() <= 200 / 64 + 4, "commits: " + db.commits.get());
+        assertFalse(Files.exists(dir.resolve("games.spill")));
+    }
+
+    @Test
+    void retriesWithBackoffUntilDatabaseRecovers() throws SQLException {
+        TestFactory db = new TestFactory(2);
+        GameRecorder recorder = new GameRecorder(db, dir.resolve("games.spill"));
+        recorder.submit(record(1));
+        long start = System.nanoTime();
+        recorder.start();
+        recorder.shutdown();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(1, db.count("SELECT COUNT(*) FROM games"));
+        // 두 번 실패: 200ms, 400ms 대기
+        assertTrue(elapsedMs >= 600, "elapsed: " + elapsedMs);
+        assertFalse(Files.exists(dir.resolve("games.spill")));
+    }
+
+    @Test
+    void spillsToFileWhenRetriesAreExhausted() throws IOException {
+        TestFactory db = new TestFactory(Integer.MAX_VALUE);
+        Path spill = dir.resolve("games.spill");
+        GameRecorder recorder = new GameRecorder(db, spill);
+        recorder.submit(record(1));
+        recorder.submit(record(2));
+        recorder.start();
+        recorder.shutdown();
+
+        List<String> lines = Files.readAllLines(spill, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.contains(record(1).toLine()));
+        assertTrue(lines.contains(record(2).toLine()));
+    }
+
+    @Test
+    void replaysSpillAndLeftoverReplayFileExactlyOnce() throws IOException, SQLException {
+        TestFactory db = new TestFactory(0);
+        Path spill = dir.resolve("games.spill");
+        Path replay = dir.resolve("games.spill.replay");
+
+        // 지난 실행에서 1번은 기록된 뒤 재기록이 중간에 멈춘 상황
+        GameRecorder first = new GameRecorder(db, spill);
+        first.submit(record(1));
+        first.start();
+        first.shutdown();
+        Files.write(replay, List.of(record(1).toLine(), record(2).toLine()), StandardCharsets.UTF_8);
+        Files.write(spill, List.of(record(3).toLine(), "깨진 줄", record(4).toLine()), StandardCharsets.UTF_8);
+
+        GameRecorder recorder = new GameRecorder(db, spill);
+        recorder.start();
+        recorder.submit(record(5));
+        recorder.shutdown();
+
+        assertEquals(5, db.count("SELECT COUNT(*) FROM games"));
+        assertEquals(5, db.count("SELECT COUNT(DISTINCT game_key) FROM games"));
+        // 1번 대국의 통계도 한 번만 셉니다.
+        assertEquals(1, db.count("SELECT losses FROM player_stats WHERE player = 'p1'"));
+        assertFalse(Files.exists(spill));
+        assertFalse(Files.exists(replay));
+    }
+
+    @Test
+    void duplicateSubmissionIsStoredOnce() throws SQLException {
+        TestFactory db = new TestFactory(0);
+        GameRecorder recorder = new GameRecorder(db, dir.resolve("games.spill"));
+        recorder.submit(record(7));
+        recorder.submit(record(7));
+        recorder.start();
+        recorder.shutdown();
+
+        assertEquals(1, db.count("SELECT COUNT(*) FROM games"));
+        assertEquals(1, db.count("SELECT wins FROM player_stats WHERE player = 'bot'"));
+    }
+}